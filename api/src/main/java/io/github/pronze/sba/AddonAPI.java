@@ -4,6 +4,7 @@ import io.github.pronze.sba.config.IConfigurator;
 import io.github.pronze.sba.game.IGameStorage;
 import io.github.pronze.sba.lang.ILanguageService;
 import io.github.pronze.sba.manager.IArenaManager;
+import io.github.pronze.sba.manager.IGameTaskManager;
 import io.github.pronze.sba.manager.IPartyManager;
 import io.github.pronze.sba.service.WrapperService;
 import org.bukkit.Bukkit;
@@ -85,6 +86,13 @@ public interface AddonAPI {
      */
     IPartyManager getPartyManager();
 
+    /**
+     * Returns the GameTaskManager instance that schedules the tasks of running arenas.
+     *
+     * @return {@link IGameTaskManager} instance that handles the tasks of all arenas
+     */
+    IGameTaskManager getGameTaskManager();
+
     /**
      *
      * @return an instance of the PlayerWrapperService that is associated with wrapping player
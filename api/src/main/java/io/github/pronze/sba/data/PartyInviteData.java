@@ -3,7 +3,7 @@ package io.github.pronze.sba.data;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.bukkit.scheduler.BukkitTask;
+import io.github.pronze.sba.service.TimeoutHandle;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 
 /**
@@ -23,7 +23,7 @@ public class PartyInviteData {
     private final SBAPlayerWrapper invited;
 
     /**
-     * Task that cancels the invite timer of the player.
+     * Timeout that expires the invite of the player.
      */
-    private final BukkitTask inviteTask;
+    private final TimeoutHandle inviteTask;
 }
@@ -60,6 +60,12 @@ public interface IGameStorage {
      */
     void setEfficiencyLevel(@NotNull RunningTeam team, @NotNull Integer level);
 
+    /**
+     * @param team the team instance to query
+     * @return a number that changes every time one of the upgrade levels of the team changes
+     */
+    int getUpgradeVersion(@NotNull RunningTeam team);
+
     /**
      * Sets whether the trap has been enabled for the specified team.
      * @param team the team instance to set
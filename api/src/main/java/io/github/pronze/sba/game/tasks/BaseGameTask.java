@@ -1,14 +1,14 @@
 package io.github.pronze.sba.game.tasks;
 
+import io.github.pronze.sba.AddonAPI;
 import io.github.pronze.sba.game.IArena;
 import lombok.Data;
 import org.screamingsandals.bedwars.api.game.Game;
 import org.screamingsandals.bedwars.api.game.GameStatus;
-import org.screamingsandals.lib.tasker.Tasker;
 import org.screamingsandals.lib.tasker.TaskerTime;
-import org.screamingsandals.lib.tasker.task.TaskerTask;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Data
 public abstract class BaseGameTask {
@@ -17,7 +17,7 @@ public abstract class BaseGameTask {
     protected Game game;
     private long duration;
     private TaskerTime timeUnit;
-    private TaskerTask task;
+    private GameTaskHandle task;
     private boolean started;
 
     public BaseGameTask() {
@@ -32,7 +32,10 @@ public abstract class BaseGameTask {
         if (task != null) {
             task.cancel();
         }
-        task = Tasker.build(this::loopLogic).repeat(duration, timeUnit).start();
+        task = AddonAPI
+                .getInstance()
+                .getGameTaskManager()
+                .schedule(this);
         return this;
     }
 
@@ -45,12 +48,41 @@ public abstract class BaseGameTask {
 
     public void loopLogic() {
         if (game.getStatus() != GameStatus.RUNNING) {
-            task.cancel();
-            task = null;
+            stop();
             return;
         }
         run();
     }
 
+    /**
+     * @return the amount of ticks between two runs of this task, computed from the duration and time unit
+     * @throws IllegalStateException if the time unit has no known length in ticks
+     */
+    public long getPeriodTicks() {
+        final long millis;
+        switch (timeUnit) {
+            case TICKS:
+                return Math.max(1L, duration);
+            case MILLISECONDS:
+                millis = duration;
+                break;
+            case SECONDS:
+                millis = TimeUnit.SECONDS.toMillis(duration);
+                break;
+            case MINUTES:
+                millis = TimeUnit.MINUTES.toMillis(duration);
+                break;
+            case HOURS:
+                millis = TimeUnit.HOURS.toMillis(duration);
+                break;
+            case DAYS:
+                millis = TimeUnit.DAYS.toMillis(duration);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported time unit of task " + getClass().getSimpleName() + ": " + timeUnit);
+        }
+        return Math.max(1L, millis / 50L);
+    }
+
     public abstract void run();
 }
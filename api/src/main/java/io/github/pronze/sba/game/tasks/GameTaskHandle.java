@@ -0,0 +1,55 @@
+package io.github.pronze.sba.game.tasks;
+
+/**
+ * Represents the registration of a {@link BaseGameTask} on the shared arena scheduler.
+ */
+public interface GameTaskHandle {
+
+    /**
+     * @return the task that is being run by this handle
+     */
+    BaseGameTask getTask();
+
+    /**
+     * @return the amount of ticks between two consecutive runs of the task
+     */
+    long getPeriodTicks();
+
+    /**
+     * Cancels the task, it will not be run again by the scheduler.
+     */
+    void cancel();
+
+    /**
+     * @return true if the task has been cancelled, false otherwise
+     */
+    boolean isCancelled();
+
+    /**
+     * @return the amount of times the task has been run since it was scheduled
+     */
+    long getRunCount();
+
+    /**
+     * @return the time taken by the last run of the task in nanoseconds
+     */
+    long getLastRunNanos();
+
+    /**
+     * @return the longest time taken by a single run of the task in nanoseconds
+     */
+    long getMaxRunNanos();
+
+    /**
+     * @return the time taken by all runs of the task in nanoseconds
+     */
+    long getTotalRunNanos();
+
+    /**
+     * @return the average time taken by a single run of the task in nanoseconds
+     */
+    default long getAverageRunNanos() {
+        final var runCount = getRunCount();
+        return runCount == 0 ? 0 : getTotalRunNanos() / runCount;
+    }
+}
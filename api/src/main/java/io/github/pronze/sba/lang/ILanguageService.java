@@ -13,4 +13,12 @@ public interface ILanguageService {
      */
     @NotNull
     Message get(String... arguments);
+
+    /**
+     *
+     * @param arguments the arguments to query the language file
+     * @return the compiled template of the entry, cached until the language file is reloaded
+     */
+    @NotNull
+    MessageTemplate getTemplate(String... arguments);
 }
@@ -8,6 +8,7 @@ import org.screamingsandals.lib.sender.CommandSenderWrapper;
 import org.screamingsandals.lib.utils.AdventureHelper;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor(staticName = "of", access = AccessLevel.PRIVATE)
@@ -24,13 +25,25 @@ public class Message {
     }
 
     public Message replace(String key, String value) {
-        original = original
-                .stream()
-                .map(str-> str.replaceAll(key, value))
-                .collect(Collectors.toList());
+        original.replaceAll(str -> str.replace(key, value));
         return this;
     }
 
+    /**
+     * Replaces every {@code %key%} placeholder of the message in a single pass over each line.
+     *
+     * @param resolver the resolver supplying the values
+     * @return this message
+     */
+    public Message replace(PlaceholderResolver resolver) {
+        original.replaceAll(str -> Placeholders.apply(str, resolver));
+        return this;
+    }
+
+    public Message replace(Map<String, ?> values) {
+        return replace(Placeholders.of(values));
+    }
+
     public Message withPrefix() {
         prefix = true;
         return this;
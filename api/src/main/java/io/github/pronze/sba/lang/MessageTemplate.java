@@ -0,0 +1,177 @@
+package io.github.pronze.sba.lang;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.lib.sender.CommandSenderWrapper;
+import org.screamingsandals.lib.utils.AdventureHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A language entry compiled once when the language file is loaded.
+ * The MiniMessage markup of every line is parsed up front and split at its {@code %key%} placeholders,
+ * rendering only concatenates the literal parts with the resolved values.
+ */
+public class MessageTemplate {
+    private final List<Line> lines;
+    private final List<String> legacyLines;
+    private final boolean placeholders;
+
+    private MessageTemplate(List<Line> lines) {
+        this.lines = lines;
+        final var legacyLines = new ArrayList<String>(lines.size());
+        var placeholders = false;
+        for (Line line : lines) {
+            legacyLines.add(line.legacy.literals[0]);
+            placeholders |= line.hasPlaceholders();
+        }
+        this.legacyLines = List.copyOf(legacyLines);
+        this.placeholders = placeholders;
+    }
+
+    public static MessageTemplate compile(@NotNull List<String> text) {
+        final var lines = new ArrayList<Line>(text.size());
+        text.forEach(str -> lines.add(new Line(str)));
+        return new MessageTemplate(List.copyOf(lines));
+    }
+
+    public boolean hasPlaceholders() {
+        return placeholders;
+    }
+
+    @Override
+    public String toString() {
+        return toString(PlaceholderResolver.NONE);
+    }
+
+    public String toString(@NotNull PlaceholderResolver resolver) {
+        if (lines.isEmpty()) {
+            return "";
+        }
+        return lines.get(0).legacy.render(resolver);
+    }
+
+    public List<String> toStringList() {
+        if (!placeholders) {
+            return legacyLines;
+        }
+        return toStringList(PlaceholderResolver.NONE);
+    }
+
+    public List<String> toStringList(@NotNull PlaceholderResolver resolver) {
+        final var result = new ArrayList<String>(lines.size());
+        for (Line line : lines) {
+            result.add(line.legacy.render(resolver));
+        }
+        return result;
+    }
+
+    public List<Component> toComponentList(@NotNull PlaceholderResolver resolver) {
+        final var result = new ArrayList<Component>(lines.size());
+        for (Line line : lines) {
+            result.add(line.toComponent(resolver));
+        }
+        return result;
+    }
+
+    public void send(@NotNull PlaceholderResolver resolver, CommandSenderWrapper... wrapper) {
+        if (wrapper.length == 0) {
+            return;
+        }
+        final var message = toComponentList(resolver);
+        for (var sender : wrapper) {
+            message.forEach(sender::sendMessage);
+        }
+    }
+
+    public void send(@NotNull PlaceholderResolver resolver, List<CommandSenderWrapper> wrapperList) {
+        if (wrapperList.isEmpty()) {
+            return;
+        }
+        final var message = toComponentList(resolver);
+        wrapperList.forEach(wrapper -> message.forEach(wrapper::sendMessage));
+    }
+
+    private static class Line {
+        private final Segments raw;
+        private final Segments legacy;
+        private final Component component;
+
+        private Line(String text) {
+            this.raw = Segments.split(text);
+            final var parsed = MiniMessage.get().parse(text);
+            this.legacy = Segments.split(AdventureHelper.toLegacy(parsed));
+            // lines with placeholders are parsed again once their values are known
+            this.component = raw.keys.length == 0 ? parsed : null;
+        }
+
+        private boolean hasPlaceholders() {
+            return raw.keys.length > 0 || legacy.keys.length > 0;
+        }
+
+        private Component toComponent(PlaceholderResolver resolver) {
+            if (component != null) {
+                return component;
+            }
+            return MiniMessage.get().parse(raw.render(resolver));
+        }
+    }
+
+    /**
+     * A line split into literal parts and placeholder keys, {@code literals} has one more element than {@code keys}.
+     */
+    private static class Segments {
+        private final String[] literals;
+        private final String[] keys;
+        private final int length;
+
+        private Segments(String[] literals, String[] keys) {
+            this.literals = literals;
+            this.keys = keys;
+            var length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.length = length;
+        }
+
+        private static Segments split(String text) {
+            final var literals = new ArrayList<String>();
+            final var keys = new ArrayList<String>();
+            var literalStart = 0;
+            var i = text.indexOf('%');
+            while (i != -1) {
+                final var end = text.indexOf('%', i + 1);
+                if (end == -1) {
+                    break;
+                }
+                if (!Placeholders.isKey(text, i + 1, end)) {
+                    i = end;
+                    continue;
+                }
+                literals.add(text.substring(literalStart, i));
+                keys.add(text.substring(i + 1, end));
+                literalStart = end + 1;
+                i = text.indexOf('%', literalStart);
+            }
+            literals.add(text.substring(literalStart));
+            return new Segments(literals.toArray(String[]::new), keys.toArray(String[]::new));
+        }
+
+        private String render(PlaceholderResolver resolver) {
+            if (keys.length == 0) {
+                return literals[0];
+            }
+            final var builder = new StringBuilder(length + keys.length * 8);
+            for (int i = 0; i < keys.length; i++) {
+                builder.append(literals[i]);
+                if (!resolver.appendTo(builder, keys[i])) {
+                    builder.append('%').append(keys[i]).append('%');
+                }
+            }
+            return builder.append(literals[keys.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.pronze.sba.lang;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Supplies the values of the {@code %key%} placeholders of a {@link MessageTemplate}.
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+    PlaceholderResolver NONE = key -> null;
+
+    /**
+     *
+     * @param key the name of the placeholder, without the surrounding percent signs
+     * @return the replacement, or null to keep the placeholder as it is
+     */
+    @Nullable
+    String resolve(@NotNull String key);
+
+    /**
+     * Appends the value of the placeholder to the builder.
+     *
+     * @param builder the builder the message is rendered into
+     * @param key the name of the placeholder, without the surrounding percent signs
+     * @return true if the placeholder has been resolved, false otherwise
+     */
+    default boolean appendTo(@NotNull StringBuilder builder, @NotNull String key) {
+        final var value = resolve(key);
+        if (value == null) {
+            return false;
+        }
+        builder.append(value);
+        return true;
+    }
+}
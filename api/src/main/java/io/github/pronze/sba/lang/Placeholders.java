@@ -0,0 +1,177 @@
+package io.github.pronze.sba.lang;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A small mutable set of placeholder values.
+ * Keys may be given with or without the surrounding percent signs, numbers are kept as primitives
+ * and appended straight into the rendered line.
+ */
+public class Placeholders implements PlaceholderResolver {
+    private String[] keys = new String[8];
+    private String[] values = new String[8];
+    private long[] numbers = new long[8];
+    private int size;
+
+    public static Placeholders create() {
+        return new Placeholders();
+    }
+
+    public static Placeholders of(@NotNull Map<String, ?> values) {
+        final var placeholders = new Placeholders();
+        values.forEach((key, value) -> {
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                placeholders.put(key, ((Number) value).longValue());
+            } else {
+                placeholders.put(key, String.valueOf(value));
+            }
+        });
+        return placeholders;
+    }
+
+    public Placeholders put(@NotNull String key, @Nullable String value) {
+        final var index = indexOrAdd(key);
+        values[index] = value == null ? "null" : value;
+        return this;
+    }
+
+    public Placeholders put(@NotNull String key, long value) {
+        final var index = indexOrAdd(key);
+        values[index] = null;
+        numbers[index] = value;
+        return this;
+    }
+
+    public Placeholders put(@NotNull String key, int value) {
+        return put(key, (long) value);
+    }
+
+    @Nullable
+    @Override
+    public String resolve(@NotNull String key) {
+        final var index = indexOf(key);
+        if (index == -1) {
+            return null;
+        }
+        return values[index] != null ? values[index] : String.valueOf(numbers[index]);
+    }
+
+    @Override
+    public boolean appendTo(@NotNull StringBuilder builder, @NotNull String key) {
+        final var index = indexOf(key);
+        if (index == -1) {
+            return false;
+        }
+        if (values[index] != null) {
+            builder.append(values[index]);
+        } else {
+            builder.append(numbers[index]);
+        }
+        return true;
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOrAdd(String key) {
+        if (key.length() > 2 && key.charAt(0) == '%' && key.charAt(key.length() - 1) == '%') {
+            key = key.substring(1, key.length() - 1);
+        }
+        final var index = indexOf(key);
+        if (index != -1) {
+            return index;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            numbers = Arrays.copyOf(numbers, size * 2);
+        }
+        keys[size] = key;
+        return size++;
+    }
+
+    /**
+     * Replaces every {@code %key%} token of the text in a single pass, unresolved tokens are kept as they are.
+     *
+     * @param text the text to render
+     * @param resolver the resolver supplying the values
+     * @return the rendered text, the same instance if nothing was replaced
+     */
+    public static String apply(@NotNull String text, @NotNull PlaceholderResolver resolver) {
+        var i = text.indexOf('%');
+        if (i == -1) {
+            return text;
+        }
+        StringBuilder builder = null;
+        var literalStart = 0;
+        while (i != -1) {
+            final var end = text.indexOf('%', i + 1);
+            if (end == -1) {
+                break;
+            }
+            if (!isKey(text, i + 1, end)) {
+                i = end;
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder(text.length() + 16);
+            }
+            builder.append(text, literalStart, i);
+            if (!resolver.appendTo(builder, text.substring(i + 1, end))) {
+                builder.append(text, i, end + 1);
+            }
+            literalStart = end + 1;
+            i = text.indexOf('%', literalStart);
+        }
+        if (builder == null) {
+            return text;
+        }
+        return builder.append(text, literalStart, text.length()).toString();
+    }
+
+    /**
+     * Adds the key of every {@code %key%} token of the text to the given collection.
+     *
+     * @param text the text to scan
+     * @param keys the collection the keys are added to, without the surrounding percent signs
+     */
+    public static void collectKeys(@NotNull String text, @NotNull Collection<String> keys) {
+        var i = text.indexOf('%');
+        while (i != -1) {
+            final var end = text.indexOf('%', i + 1);
+            if (end == -1) {
+                return;
+            }
+            if (!isKey(text, i + 1, end)) {
+                i = end;
+                continue;
+            }
+            keys.add(text.substring(i + 1, end));
+            i = text.indexOf('%', end + 1);
+        }
+    }
+
+    static boolean isKey(String text, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            final var c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -2,6 +2,7 @@ package io.github.pronze.sba.manager;
 
 import io.github.pronze.sba.game.IArena;
 import io.github.pronze.sba.game.tasks.BaseGameTask;
+import io.github.pronze.sba.game.tasks.GameTaskHandle;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -30,4 +31,17 @@ public interface IGameTaskManager {
      * @return A list containing all the tasks initialized for the game
      */
     List<BaseGameTask> startTasks(@NotNull IArena arena);
+
+    /**
+     * Schedules the task on the shared arena scheduler, all tasks of all arenas are run in one pass per tick.
+     * Scheduling a task that is already scheduled replaces the previous registration.
+     * @param task the task to schedule, the period is taken from {@link BaseGameTask#getPeriodTicks()}
+     * @return the handle of the registration, used for cancellation and timings
+     */
+    GameTaskHandle schedule(@NotNull BaseGameTask task);
+
+    /**
+     * @return a list containing the handles of all the tasks currently scheduled for all arenas
+     */
+    List<GameTaskHandle> getScheduledTasks();
 }
@@ -12,12 +12,13 @@ import java.util.UUID;
 public interface IParty {
 
     /**
-     * @return a {@link List} of players as {@link SBAPlayerWrapper} objects.
+     * @return an unmodifiable {@link List} of players as {@link SBAPlayerWrapper} objects, which reflects later changes.
      */
     List<SBAPlayerWrapper> getMembers();
 
     /**
-     * @return a {@link List} of players that are invited to this party as {@link SBAPlayerWrapper} objects.
+     * @return an unmodifiable {@link List} of players that are invited to this party as {@link SBAPlayerWrapper} objects,
+     * which reflects later changes.
      */
     List<SBAPlayerWrapper> getInvitedPlayers();
 
@@ -0,0 +1,17 @@
+package io.github.pronze.sba.service;
+
+/**
+ * Represents a short lived timeout, such as the expiry of a party invite, registered on the shared timer wheel.
+ */
+public interface TimeoutHandle {
+
+    /**
+     * Cancels the timeout, its task will not be run anymore.
+     */
+    void cancel();
+
+    /**
+     * @return true if the timeout has been cancelled or has completed, false otherwise
+     */
+    boolean isCancelled();
+}
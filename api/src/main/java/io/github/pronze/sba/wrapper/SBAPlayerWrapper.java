@@ -5,25 +5,35 @@ import io.github.pronze.sba.AddonAPI;
 import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.Permissions;
 import io.github.pronze.sba.data.ToggleableSetting;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 import net.kyori.adventure.text.Component;
-import org.screamingsandals.bedwars.Main;
+import org.screamingsandals.bedwars.api.statistics.PlayerStatistic;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 @Getter
-@Setter
 public class SBAPlayerWrapper extends org.screamingsandals.lib.player.ExtendablePlayerWrapper {
-    private int shoutCooldown;
+    /**
+     * Time in milliseconds at which the player can shout again, the cooldown needs no task to count down.
+     */
+    private volatile long shoutCooldownEnd;
+    /**
+     * Cached progression of the player, dropped when the statistics of the player are saved.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Progression progression;
+    /**
+     * Statistic of the player, preloaded after the player logged in.
+     */
+    private volatile PlayerStatistic statistic;
     private final ToggleableSetting<PlayerSetting> settings;
 
     public SBAPlayerWrapper(Player player) {
         super(org.screamingsandals.lib.player.PlayerMapper.getPlayer(player.getUniqueId()).get());
 
-        this.shoutCooldown = 0;
+        this.shoutCooldownEnd = 0L;
         this.settings = ToggleableSetting.of(PlayerSetting.class);
     }
    
@@ -36,28 +46,30 @@ public class SBAPlayerWrapper extends org.screamingsandals.lib.player.Extendable
         return as(Player.class);
     }
 
+    /**
+     * @return the amount of seconds left before the player can shout again, rounded up
+     */
+    public int getShoutCooldown() {
+        final long remaining = shoutCooldownEnd - System.currentTimeMillis();
+        return remaining <= 0 ? 0 : (int) ((remaining + 999L) / 1000L);
+    }
+
+    public void setShoutCooldown(int seconds) {
+        shoutCooldownEnd = seconds <= 0 ? 0L : System.currentTimeMillis() + seconds * 1000L;
+    }
+
     public boolean canShout() {
-        return shoutCooldown == 0;
+        return getShoutCooldown() == 0;
     }
 
     public void shout(Component message) {
-        if (shoutCooldown == 0) {
+        if (canShout()) {
             sendMessage(message);
             if (getInstance().hasPermission(Permissions.SHOUT_BYPASS.getKey()) || getDefaultShoutCoolDownTime() == 0) {
                 return;
             }
 
-            shoutCooldown = getDefaultShoutCoolDownTime();
-
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    shoutCooldown = shoutCooldown - 1;
-                    if (shoutCooldown == 0) {
-                        this.cancel();
-                    }
-                }
-            }.runTaskTimer(AddonAPI.getInstance().getJavaPlugin(), 0L, 20L);
+            setShoutCooldown(getDefaultShoutCoolDownTime());
         } else {
             AddonAPI
                     .getInstance()
@@ -68,57 +80,56 @@ public class SBAPlayerWrapper extends org.screamingsandals.lib.player.Extendable
         }
     }
 
-    public int getXP() {
-        var statistic = Main
-                .getPlayerStatisticsManager()
-                .getStatistic(this.getInstance());
-
-        if (statistic == null) {
-            statistic = Main.getPlayerStatisticsManager().loadStatistic(getUuid());
-            if (statistic != null) {
-                return statistic.getScore();
+    /**
+     * Drops the cached progression of the player, it is computed again from the statistics on the next read.
+     */
+    public void invalidateProgression() {
+        progression = null;
+    }
+
+    /**
+     * Sets the loaded statistic of the player and drops the cached progression.
+     */
+    public void setStatistic(PlayerStatistic statistic) {
+        this.statistic = statistic;
+        invalidateProgression();
+    }
+
+    /**
+     * @return the progression of the player, computed from the statistics once and then read from the cache.
+     * Until the statistics of the player are loaded, the progression of a player without any score is returned.
+     */
+    public Progression getProgression() {
+        var cached = progression;
+        if (cached == null) {
+            final var loadedStatistic = statistic;
+            if (loadedStatistic == null) {
+                return Progression.of(0);
             }
-            return 1;
+            cached = Progression.of(loadedStatistic.getScore());
+            progression = cached;
         }
-        return statistic.getScore();
+        return cached;
+    }
+
+    public int getXP() {
+        return getProgression().getXp();
     }
 
     public int getLevel() {
-        var xp = getXP();
-        if (xp < getTotalXPToLevelUp()) {
-            return 1;
-        }
-        return 1 + (xp / getTotalXPToLevelUp());
+        return getProgression().getLevel();
     }
 
     public String getProgress() {
-        var maxLimit  = getTotalXPToLevelUp();
-
-        final var format = AddonAPI
-                .getInstance()
-                .getConfigurator()
-                .getString("main-lobby.progress-format", "§b%progress%§7/§a%total%")
-                .replace("%total%", round(maxLimit));
-
-        int progress = getXP() - ((getLevel() - 1) * maxLimit);
-        if (progress <= 0) {
-            progress = 0;
-        }
-        return format.replace("%progress%", round(progress));
+        return getProgression().getProgress();
     }
 
     public int getIntegerProgress() {
-        return ((getXP() - ((getLevel() - 1) * getTotalXPToLevelUp())) / getTotalXPToLevelUp()) * 100;
+        return getProgression().getIntegerProgress();
     }
 
     public String getCompletedBoxes() {
-        int progress = getIntegerProgress();
-        if (progress < 1)
-            progress = 1;
-
-        int numberOfBoxesFilled = progress / 10;
-        return "§7[§b" + Strings.repeat("■", numberOfBoxesFilled)
-                + "§7" + Strings.repeat("■", 10 - numberOfBoxesFilled) + "]";
+        return getProgression().getCompletedBoxes();
     }
 
     protected static String round(double toRound) {
@@ -144,4 +155,42 @@ public class SBAPlayerWrapper extends org.screamingsandals.lib.player.Extendable
     protected static int getDefaultShoutCoolDownTime() {
         return AddonAPI.getInstance().getConfigurator().getInt("shout.time-out", 60);
     }
-}
\ No newline at end of file
+
+    /**
+     * The level, progress and progress bar of a player, derived from its score.
+     */
+    @Getter
+    public static class Progression {
+        private final int xp;
+        private final int level;
+        private final int integerProgress;
+        private final String progress;
+        private final String completedBoxes;
+
+        private Progression(int xp, int level, int integerProgress, String progress, String completedBoxes) {
+            this.xp = xp;
+            this.level = level;
+            this.integerProgress = integerProgress;
+            this.progress = progress;
+            this.completedBoxes = completedBoxes;
+        }
+
+        public static Progression of(int xp) {
+            final var maxLimit = getTotalXPToLevelUp();
+            final var level = xp < maxLimit ? 1 : 1 + (xp / maxLimit);
+            final var integerProgress = ((xp - ((level - 1) * maxLimit)) / maxLimit) * 100;
+
+            final var format = AddonAPI
+                    .getInstance()
+                    .getConfigurator()
+                    .getString("main-lobby.progress-format", "§b%progress%§7/§a%total%")
+                    .replace("%total%", round(maxLimit));
+            final var progress = Math.max(0, xp - ((level - 1) * maxLimit));
+
+            final var numberOfBoxesFilled = Math.max(1, integerProgress) / 10;
+            final var completedBoxes = "§7[§b" + Strings.repeat("■", numberOfBoxesFilled)
+                    + "§7" + Strings.repeat("■", 10 - numberOfBoxesFilled) + "]";
+            return new Progression(xp, level, integerProgress, format.replace("%progress%", round(progress)), completedBoxes);
+        }
+    }
+}
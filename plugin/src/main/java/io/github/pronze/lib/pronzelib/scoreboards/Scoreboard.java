@@ -64,10 +64,8 @@ public class Scoreboard
         if (lines == null || lines.isEmpty()) {
             return;
         }
-        if (lines.equals(this.holder.getLines().values())) {
-            return;
-        }
-        
+
+        // the holder compares every line with what was last sent and only updates the changed ones
         lines = this.resizeContent(lines);
         //Logger.trace("Scoreboard setLines[2] {}",lines);
         Collections.reverse(lines);
@@ -77,6 +75,29 @@ public class Scoreboard
             this.holder.setLine(i, line);
             ++i;
         }
+        this.holder.trimLines(i);
+    }
+
+    /**
+     * Resizes the lines without touching the bukkit scoreboard, the result can be committed with
+     * {@link #setPreparedLines(List)}. Only works on the given strings, so it is safe to call off the main thread.
+     */
+    public List<String> prepareLines(final List<String> lines) {
+        return new ArrayList<String>(this.resizeContent(lines));
+    }
+
+    /**
+     * Commits lines returned by {@link #prepareLines(List)}, must be called on the main thread.
+     * The lines are sent as they are, their placeholders have to be resolved by the caller.
+     */
+    public void setPreparedLines(final List<String> lines) {
+        if (this.holder.isDestroyed() || lines == null || lines.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < lines.size(); ++i) {
+            this.holder.setResolvedLine(lines.size() - 1 - i, lines.get(i));
+        }
+        this.holder.trimLines(lines.size());
     }
     
     public void setVisibility(final boolean visible) {
@@ -238,6 +259,11 @@ public class Scoreboard
         //Logger.trace("Scoreboard.startUpdateTask");
 
         this.cancelUpdateTask();
+        if (this.UPDATE_TASK_INTERVAL <= 0L) {
+            // the lines are pushed from outside, see ScoreboardBuilder#disableUpdateTask
+            this.updateTaskRunning = false;
+            return;
+        }
         this.updateTaskRunning = true;
         this.updateTask = new BukkitRunnable() {
             public void run() {
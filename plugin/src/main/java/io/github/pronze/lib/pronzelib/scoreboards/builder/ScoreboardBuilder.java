@@ -92,6 +92,14 @@ public class ScoreboardBuilder
         return this;
     }
     
+    /**
+     * Builds the scoreboard without its own update task, for boards whose lines are set by the caller.
+     */
+    public ScoreboardBuilder disableUpdateTask() {
+        this.interval = 0L;
+        return this;
+    }
+    
     public ScoreboardBuilder animationInterval(final long interval) {
         this.animationInterval = interval;
         return this;
@@ -110,12 +118,13 @@ public class ScoreboardBuilder
         if (this.title != null) {
             scoreboardHolder.setTitle(this.title);
         }
-        if (this.lines != null) {
-            this.scoreboard.setLines(this.lines);
-        }
+        // the hook has to be in place before the first lines are rendered
         if (this.papiFunction != null) {
             this.scoreboard.setPlaceholderHook(this.papiFunction);
         }
+        if (this.lines != null) {
+            this.scoreboard.setLines(this.lines);
+        }
         if (this.animatedTitle != null) {
             this.scoreboard.setAnimatedTitle(this.animatedTitle);
         }
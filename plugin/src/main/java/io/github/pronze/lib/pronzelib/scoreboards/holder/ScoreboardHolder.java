@@ -25,16 +25,33 @@ import io.github.pronze.lib.pronzelib.scoreboards.api.PlaceholderFunction;
 import org.bukkit.scoreboard.Objective;
 import java.util.TreeMap;
 import java.util.HashMap;
+import java.util.Arrays;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.entity.Player;
 import io.github.pronze.sba.utils.Logger;
 
 public class ScoreboardHolder
 {
+    private static final int MAX_LINES = 16;
+    private static final int MAX_PREFIX_LENGTH = 64;
+    private static final String[] LINE_ENTRIES = new String[MAX_LINES];
+    private static final String[] LINE_TEAMS = new String[MAX_LINES];
+
+    static {
+        // every position owns a fixed invisible entry, the text of the line is carried by the prefix of its team
+        for (int i = 0; i < MAX_LINES; ++i) {
+            LINE_ENTRIES[i] = ChatColor.values()[i].toString() + ChatColor.RESET;
+            LINE_TEAMS[i] = "sba_line_" + i;
+        }
+    }
+
     private final Player player;
     private final Scoreboard bukkitScoreboard;
     private final HashMap<String, Object> persistentPlaceholders;
     private final TreeMap<Integer, String> lines;
+    private final String[] renderedLines;
+    private final String[] lineTemplates;
+    private final boolean[] templateHasPlaceholders;
     private boolean isVisible;
     private Objective objective;
     private PlaceholderFunction papiFunction;
@@ -47,6 +64,9 @@ public class ScoreboardHolder
         this.bukkitScoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
         this.persistentPlaceholders = new HashMap<String, Object>();
         this.lines = new TreeMap<Integer, String>();
+        this.renderedLines = new String[MAX_LINES];
+        this.lineTemplates = new String[MAX_LINES];
+        this.templateHasPlaceholders = new boolean[MAX_LINES];
         this.isVisible = true;
         this.displayName = "§c>>>> §fScoreboard §c<<<<";
         this.objectiveName = "pronze_lib";
@@ -72,6 +92,7 @@ public class ScoreboardHolder
         catch (Exception ex) {}
         this.objective = null;
         this.lines.clear();
+        Arrays.fill(this.renderedLines, null);
         this.player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
         this.destroyed = true;
     }
@@ -96,6 +117,8 @@ public class ScoreboardHolder
         }
         (this.objective = this.bukkitScoreboard.registerNewObjective(objectiveName, "dummy")).setDisplaySlot(DisplaySlot.SIDEBAR);
         this.objectiveName = objectiveName;
+        // the scores of the previous objective are gone, every line has to be sent again
+        Arrays.fill(this.renderedLines, null);
     }
     
     public void setTitle(String displayName) {
@@ -120,19 +143,81 @@ public class ScoreboardHolder
             throw new IllegalArgumentException("Position cannot be less than 0");
         }
         Objects.requireNonNull(content, "Content cannot be null!");
-        final String line = this.lines.get(pos);
-        final String finalContent = this.setPlaceholders(content);
-        if (line != null && line.equalsIgnoreCase(finalContent)) {
+        this.lines.put(pos, content);
+        this.sendLine(pos, this.hasPlaceholders(pos, content) ? this.setPlaceholders(content) : content);
+    }
+
+    /**
+     * Sets a line whose placeholders have already been resolved, the hook and PlaceholderAPI are not run on it.
+     */
+    public void setResolvedLine(final int pos, final String content) {
+        if (pos > 15) {
+            throw new IllegalArgumentException("Position cannot be greater than 15");
+        }
+        if (pos < 0) {
+            throw new IllegalArgumentException("Position cannot be less than 0");
+        }
+        Objects.requireNonNull(content, "Content cannot be null!");
+        this.lines.put(pos, content);
+        this.sendLine(pos, content);
+    }
+
+    private void sendLine(final int pos, final String finalContent) {
+        final String rendered = this.renderedLines[pos];
+        if (finalContent.equals(rendered)) {
             return;
         }
-        final String anotherString="";
-        final Scoreboard bukkitScoreboard = this.bukkitScoreboard;
-        Objects.requireNonNull(bukkitScoreboard);
-        this.bukkitScoreboard.getEntries().stream().filter(Objects::nonNull).filter(entry -> this.objective.getScore(entry).getScore() == pos && !entry.equalsIgnoreCase(anotherString)).forEach(bukkitScoreboard::resetScores);
+        if (ScoreboardManager.isLegacy()) {
+            if (rendered != null) {
+                this.bukkitScoreboard.resetScores(rendered);
+            }
+            this.objective.getScore(finalContent).setScore(pos);
+        }
+        else {
+            final Team team = this.getTeamOrRegister(LINE_TEAMS[pos]);
+            if (rendered == null) {
+                team.addEntry(LINE_ENTRIES[pos]);
+                this.objective.getScore(LINE_ENTRIES[pos]).setScore(pos);
+            }
+            team.setPrefix(finalContent.length() > MAX_PREFIX_LENGTH ? finalContent.substring(0, MAX_PREFIX_LENGTH) : finalContent);
+        }
+        this.renderedLines[pos] = finalContent;
+    }
 
-        final Score score = this.objective.getScore(finalContent);
-        score.setScore(pos);
-        this.lines.put(pos, content);
+    public void removeLine(final int pos) {
+        if (pos < 0 || pos >= MAX_LINES) {
+            return;
+        }
+        this.lines.remove(pos);
+        final String rendered = this.renderedLines[pos];
+        if (rendered == null) {
+            return;
+        }
+        this.bukkitScoreboard.resetScores(ScoreboardManager.isLegacy() ? rendered : LINE_ENTRIES[pos]);
+        this.renderedLines[pos] = null;
+    }
+
+    /**
+     * Removes every line at or above the given position.
+     *
+     * @param size the amount of lines to keep
+     */
+    public void trimLines(final int size) {
+        for (int pos = Math.max(size, 0); pos < MAX_LINES; ++pos) {
+            this.removeLine(pos);
+        }
+    }
+
+    /**
+     * Decides from the content alone, the hook, the internal placeholders and PlaceholderAPI all work on
+     * {@code %key%} tokens. The result is kept until another template is set at the position.
+     */
+    private boolean hasPlaceholders(final int pos, final String content) {
+        if (!content.equals(this.lineTemplates[pos])) {
+            this.lineTemplates[pos] = content;
+            this.templateHasPlaceholders[pos] = content.indexOf('%') != -1;
+        }
+        return this.templateHasPlaceholders[pos];
     }
     
     public String setPlaceholders(String content) {
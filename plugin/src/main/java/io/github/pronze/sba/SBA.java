@@ -7,6 +7,7 @@ import io.github.pronze.sba.fix.BaseFix;
 import io.github.pronze.sba.fix.BungeecordNPC;
 import io.github.pronze.sba.game.ArenaManager;
 import io.github.pronze.sba.game.IGameStorage;
+import io.github.pronze.sba.game.tasks.ArenaTaskScheduler;
 import io.github.pronze.sba.game.tasks.GameTaskManager;
 import io.github.pronze.sba.inventories.GamesInventory;
 import io.github.pronze.sba.inventories.SBAStoreInventory;
@@ -15,6 +16,7 @@ import io.github.pronze.sba.lang.ILanguageService;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import io.github.pronze.sba.listener.*;
 import io.github.pronze.sba.manager.IArenaManager;
+import io.github.pronze.sba.manager.IGameTaskManager;
 import io.github.pronze.sba.manager.IPartyManager;
 import io.github.pronze.sba.party.PartyManager;
 import io.github.pronze.sba.placeholderapi.SBAExpansion;
@@ -25,8 +27,10 @@ import io.github.pronze.sba.utils.DateUtils;
 import io.github.pronze.sba.utils.FirstStartConfigReplacer;
 import io.github.pronze.sba.utils.Logger;
 import io.github.pronze.sba.utils.Logger.Level;
+import io.github.pronze.sba.visuals.GeneratorHologramRenderer;
 import io.github.pronze.sba.visuals.LobbyScoreboardManager;
 import io.github.pronze.sba.visuals.MainLobbyVisualsManager;
+import io.github.pronze.sba.visuals.ScoreboardLinePreparer;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -80,12 +84,15 @@ import static io.github.pronze.sba.utils.MessageUtils.showErrorMessage;
         LanguageService.class,
         CommandManager.class,
         ArenaManager.class,
+        TimeoutService.class,
         PartyManager.class,
+        ArenaTaskScheduler.class,
         GameTaskManager.class,
         SBAStoreInventory.class,
         SBAUpgradeStoreInventory.class,
         GamesInventory.class,
         PlayerWrapperService.class,
+        StatisticsPreloadService.class,
         GamesInventoryService.class,
         HealthIndicatorService.class,
         PacketListener.class,
@@ -96,8 +103,10 @@ import static io.github.pronze.sba.utils.MessageUtils.showErrorMessage;
         PlayerListener.class,
         GeneratorSplitterListener.class,
         ExplosionVelocityControlListener.class,
+        ScoreboardLinePreparer.class,
         LobbyScoreboardManager.class,
         MainLobbyVisualsManager.class,
+        GeneratorHologramRenderer.class,
         DynamicSpawnerLimiterService.class,
         BedwarsCustomMessageModifierListener.class,
         BridgeEggListener.class,
@@ -256,6 +265,11 @@ public class SBA extends PluginContainer implements AddonAPI {
         return PartyManager.getInstance();
     }
 
+    @Override
+    public IGameTaskManager getGameTaskManager() {
+        return GameTaskManager.getInstance();
+    }
+
     @Override
     public WrapperService<Player, SBAPlayerWrapper> getPlayerWrapperService() {
         return PlayerWrapperService.getInstance();
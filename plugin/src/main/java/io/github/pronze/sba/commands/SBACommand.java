@@ -5,6 +5,8 @@ import cloud.commandframework.annotations.CommandDescription;
 import cloud.commandframework.annotations.CommandMethod;
 import cloud.commandframework.annotations.CommandPermission;
 import io.github.pronze.sba.MessageKeys;
+import io.github.pronze.sba.game.tasks.GameTaskManager;
+import io.github.pronze.sba.listener.PacketListener;
 import io.github.pronze.sba.inventories.GamesInventory;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import io.github.pronze.sba.service.GamesInventoryService;
@@ -105,6 +107,25 @@ public class SBACommand {
 
     }
 
+    @CommandMethod("sba timings")
+    @CommandDescription("show timings of the arena tasks")
+    @CommandPermission("sba.debug")
+    private void commandTimings(
+            final @NotNull CommandSender sender) {
+        final var handles = GameTaskManager.getInstance().getScheduledTasks();
+        sender.sendMessage("Scheduled arena tasks : " + handles.size());
+        handles.forEach(handle -> sender.sendMessage(String.format("%s %s : runs=%d avg=%.3fms max=%.3fms",
+                handle.getTask().getGame() == null ? "?" : handle.getTask().getGame().getName(),
+                handle.getTask().getClass().getSimpleName(),
+                handle.getRunCount(),
+                handle.getAverageRunNanos() / 1_000_000.0D,
+                handle.getMaxRunNanos() / 1_000_000.0D)));
+        final var packetListener = PacketListener.getInstance();
+        sender.sendMessage(String.format("Invisibility packets : inspected=%d cancelled=%d",
+                packetListener.getInspectedPackets(),
+                packetListener.getCancelledPackets()));
+    }
+
     @CommandMethod("sba test npc")
     @CommandDescription("debug npc command")
     @CommandPermission("sba.debug")
@@ -0,0 +1,64 @@
+package io.github.pronze.sba.config;
+
+import lombok.Getter;
+
+/**
+ * The values of {@link SBAConfig} read by event handlers and tasks, copied out of the configuration tree whenever
+ * it is loaded. Instances are immutable and can be read from any thread.
+ */
+@Getter
+public final class ConfigSnapshot {
+    private final double fallDamage;
+    private final double detectionDistance;
+    private final double accelerationY;
+    private final double reduceY;
+    private final double launchMultiplier;
+    private final double explosionDamage;
+
+    private final boolean giveKillerResources;
+    private final boolean respawnCooldownEnabled;
+    private final int respawnCooldownTime;
+    private final boolean disableArmorInventoryMovement;
+    private final boolean blockPuttingItemsOntoChest;
+    private final boolean blockItemDrops;
+    private final boolean disableItemDamage;
+    private final String trapTriggeredSound;
+    private final boolean removePurchaseMessages;
+    private final boolean replaceSwordOnUpgrade;
+
+    private final boolean gameChatEnabled;
+    private final String gameChatFormat;
+    private final String gameChatSpectatorFormat;
+    private final String allChatPrefix;
+    private final String allChatFormat;
+    private final boolean lobbyChatEnabled;
+    private final String lobbyChatFormat;
+
+    ConfigSnapshot(SBAConfig config) {
+        fallDamage = config.node("tnt-fireball-jumping", "fall-damage").getDouble(3.0D);
+        detectionDistance = config.node("tnt-fireball-jumping", "detection-distance").getDouble(5.0D);
+        accelerationY = config.node("tnt-fireball-jumping", "acceleration-y").getDouble(1.0);
+        reduceY = config.node("tnt-fireball-jumping", "reduce-y").getDouble(2.0);
+        launchMultiplier = config.node("tnt-fireball-jumping", "launch-multiplier").getDouble(4.0);
+        explosionDamage = config.node("explosion-damage").getDouble(1.0D);
+
+        giveKillerResources = config.node("give-killer-resources").getBoolean(true);
+        respawnCooldownEnabled = config.node("respawn-cooldown", "enabled").getBoolean(true);
+        respawnCooldownTime = config.node("respawn-cooldown", "time").getInt(5);
+        disableArmorInventoryMovement = config.node("disable-armor-inventory-movement").getBoolean(true);
+        blockPuttingItemsOntoChest = config.node("block-players-putting-certain-items-onto-chest").getBoolean(true);
+        blockItemDrops = config.node("block-item-drops").getBoolean(true);
+        disableItemDamage = config.node("disable-item-damage").getBoolean(true);
+        trapTriggeredSound = config.node("sounds", "on_trap_triggered").getString("ENTITY_ENDER_DRAGON_GROWL");
+        removePurchaseMessages = config.node("shop", "removePurchaseMessages").getBoolean();
+        replaceSwordOnUpgrade = config.node("replace-sword-on-upgrade").getBoolean(true);
+
+        gameChatEnabled = config.node("chat-format", "game-chat", "enabled").getBoolean(true);
+        gameChatFormat = config.node("chat-format", "game-chat", "format").getString();
+        gameChatSpectatorFormat = config.node("chat-format", "game-chat", "format-spectator").getString();
+        allChatPrefix = config.node("chat-format", "game-chat", "all-chat-prefix").getString();
+        allChatFormat = config.node("chat-format", "game-chat", "all-chat-format").getString();
+        lobbyChatEnabled = config.node("chat-format", "lobby-chat", "enabled").getBoolean();
+        lobbyChatFormat = config.node("chat-format", "lobby-chat", "format").getString();
+    }
+}
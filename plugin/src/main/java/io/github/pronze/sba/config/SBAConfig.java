@@ -34,6 +34,7 @@ public class SBAConfig implements IConfigurator {
     private ConfigurationNode configurationNode;
     private YamlConfigurationLoader loader;
     private ConfigGenerator generator;
+    private volatile ConfigSnapshot snapshot;
 
     public SBAConfig(JavaPlugin plugin) {
         this.plugin = plugin;
@@ -44,6 +45,19 @@ public class SBAConfig implements IConfigurator {
         return configurationNode.node(keys);
     }
 
+    /**
+     * @return the values read on hot paths, as of the last time the configuration was loaded
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private void refreshSnapshot() {
+        if (configurationNode != null) {
+            snapshot = new ConfigSnapshot(this);
+        }
+    }
+
     public void loadDefaults() {
         this.dataFolder = plugin.getDataFolder();
 
@@ -121,6 +135,7 @@ public class SBAConfig implements IConfigurator {
                             .back()
                         .key("enabled").defValue(true)
                         .key("height").defValue(2.5)
+                        .key("render-distance").defValue(64)
                         .back()
                     .section("upgrades")
                         .key("timer-upgrades-enabled").defValue(true)
@@ -171,6 +186,9 @@ public class SBAConfig implements IConfigurator {
                     .section("lobby-scoreboard")
                         .key("enabled").defValue(true)
                         .back()
+                    .section("scoreboard")
+                        .key("async-preparation").defValue(true)
+                        .back()
                     .key("first_start").defValue(true)
                     .section("shout")
                         .key("time-out").defValue(60)
@@ -289,6 +307,7 @@ public class SBAConfig implements IConfigurator {
         } catch (Exception ex) {
             ex.printStackTrace();
         }
+        refreshSnapshot();
     }
 
     @OnPostEnable
@@ -327,6 +346,7 @@ public class SBAConfig implements IConfigurator {
         } catch (ConfigurateException e) {
             e.printStackTrace();
         }
+        refreshSnapshot();
     }
 
     private void saveFile(String fileName, String saveTo) {
@@ -400,6 +420,7 @@ public class SBAConfig implements IConfigurator {
         try {
             node(path).set(value);
             generator.saveIfModified();
+            refreshSnapshot();
         } catch (Throwable e) {
             e.printStackTrace();
         }
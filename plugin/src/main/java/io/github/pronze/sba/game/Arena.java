@@ -5,6 +5,10 @@ import io.github.pronze.sba.config.SBAConfig;
 import io.github.pronze.sba.data.GamePlayerData;
 import io.github.pronze.sba.game.tasks.BaseGameTask;
 import io.github.pronze.sba.game.tasks.GameTaskManager;
+import io.github.pronze.sba.game.upgrades.BlindTrapUpgrade;
+import io.github.pronze.sba.game.upgrades.HealPoolUpgrade;
+import io.github.pronze.sba.game.upgrades.MinerTrapUpgrade;
+import io.github.pronze.sba.lang.Placeholders;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import io.github.pronze.sba.manager.ScoreboardManager;
 import io.github.pronze.sba.service.NPCStoreService;
@@ -18,7 +22,9 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffectType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.screamingsandals.bedwars.Main;
 import org.screamingsandals.bedwars.api.events.BedwarsGameEndingEvent;
 import org.screamingsandals.bedwars.api.events.BedwarsPostRebuildingEvent;
@@ -36,11 +42,14 @@ import net.kyori.adventure.text.TextComponent;
 import org.screamingsandals.lib.npc.skin.NPCSkin;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class Arena implements IArena {
     private static LivingEntity mockEntity = null;
     private final List<IRotatingGenerator> rotatingGenerators;
+    private final Map<Material, List<ItemSpawner>> itemSpawnersByMaterial;
+    private final Map<Material, List<RotatingGenerator>> rotatingGeneratorsByMaterial;
     private final Map<UUID, InvisiblePlayer> invisiblePlayers;
     private final Map<UUID, GamePlayerData> playerDataMap;
     private final List<BaseGameTask> gameTasks;
@@ -49,21 +58,36 @@ public class Arena implements IArena {
     private final GameScoreboardManager scoreboardManager;
     private final Game game;
     private final IGameStorage storage;
+    private final BaseProximityIndex baseProximityIndex;
+    private final BaseZoneEngine baseZoneEngine;
+    private final InvisibilityManager invisibilityManager;
+    private final StoreItemRenderCache storeItemRenderCache = new StoreItemRenderCache();
 
     public Arena(@NotNull Game game) {
         this.game = game;
         this.rotatingGenerators = new ArrayList<>();
-        this.invisiblePlayers = new HashMap<>();
+        this.itemSpawnersByMaterial = new EnumMap<>(Material.class);
+        this.rotatingGeneratorsByMaterial = new EnumMap<>(Material.class);
+        this.invisiblePlayers = new ConcurrentHashMap<>();
         this.playerDataMap = new HashMap<>();
         this.gameTasks = new ArrayList<>();
         this.storeNPCS = new ArrayList<>();
         this.upgradeStoreNPCS = new ArrayList<>();
 
         this.storage = new GameStorage(game);
+        this.baseProximityIndex = new BaseProximityIndex(this,
+                SBAConfig.getInstance().node("upgrades", "trap-detection-range").getInt(7));
+        this.baseZoneEngine = new BaseZoneEngine(this, baseProximityIndex);
+        this.baseZoneEngine.subscribe(new BlindTrapUpgrade(this));
+        this.baseZoneEngine.subscribe(new MinerTrapUpgrade(this));
+        this.baseZoneEngine.subscribe(new HealPoolUpgrade(this));
+        this.invisibilityManager = new InvisibilityManager(this);
         this.gameTasks.addAll(GameTaskManager.getInstance().startTasks(this));
         this.scoreboardManager = new GameScoreboardManager(this);
-        this.game.getConnectedPlayers()
-                .forEach(player -> registerPlayerData(player.getUniqueId(), GamePlayerData.of(player)));
+        this.game.getConnectedPlayers().forEach(player -> {
+            registerPlayerData(player.getUniqueId(), GamePlayerData.of(player));
+            ArenaManager.getInstance().getGamePlayerIndex().add(this, player);
+        });
     }
 
     @NotNull
@@ -78,11 +102,26 @@ public class Arena implements IArena {
 
     @Override
     public void addHiddenPlayer(@NotNull Player player) {
+        final var effect = player.getPotionEffect(PotionEffectType.INVISIBILITY);
+        addHiddenPlayer(player, effect == null ? 0 : effect.getDuration());
+    }
+
+    /**
+     * Hides the player from its enemies until its invisibility effect ends.
+     *
+     * @param player the player to hide
+     * @param durationTicks the remaining duration of the invisibility effect, no expiry is scheduled if not positive
+     */
+    public void addHiddenPlayer(@NotNull Player player, int durationTicks) {
+        if (durationTicks > 0) {
+            invisibilityManager.scheduleExpiry(player, durationTicks);
+        }
         if (invisiblePlayers.containsKey(player.getUniqueId())) {
             return;
         }
         final var invisiblePlayer = new InvisiblePlayerImpl(player, this);
         invisiblePlayers.put(player.getUniqueId(), invisiblePlayer);
+        ArenaManager.getInstance().getGamePlayerIndex().setHidden(this, player, true);
 
         Tasker.build(() -> {
             invisiblePlayer.vanish();
@@ -97,10 +136,21 @@ public class Arena implements IArena {
 
     @Override
     public void removeHiddenPlayer(@NotNull Player player) {
-        final var invisiblePlayer = invisiblePlayers.get(player.getUniqueId());
+        removeHiddenPlayer(player, true);
+    }
+
+    /**
+     * Shows the player to its enemies again.
+     *
+     * @param player the hidden player
+     * @param removeEffect false if the invisibility effect is already being removed
+     */
+    public void removeHiddenPlayer(@NotNull Player player, boolean removeEffect) {
+        invisibilityManager.cancelExpiry(player);
+        final var invisiblePlayer = (InvisiblePlayerImpl) invisiblePlayers.remove(player.getUniqueId());
         if (invisiblePlayer != null) {
-            invisiblePlayer.setHidden(false);
-            invisiblePlayers.remove(player.getUniqueId());
+            ArenaManager.getInstance().getGamePlayerIndex().setHidden(this, player, false);
+            invisiblePlayer.showPlayer(removeEffect);
         }
     }
 
@@ -141,6 +191,26 @@ public class Arena implements IArena {
         return scoreboardManager;
     }
 
+    @NotNull
+    public BaseProximityIndex getBaseProximityIndex() {
+        return baseProximityIndex;
+    }
+
+    @NotNull
+    public BaseZoneEngine getBaseZoneEngine() {
+        return baseZoneEngine;
+    }
+
+    @NotNull
+    public InvisibilityManager getInvisibilityManager() {
+        return invisibilityManager;
+    }
+
+    @NotNull
+    public StoreItemRenderCache getStoreItemRenderCache() {
+        return storeItemRenderCache;
+    }
+
     @Override
     public boolean isPlayerHidden(@NotNull Player player) {
         return invisiblePlayers.containsKey(player.getUniqueId());
@@ -153,6 +223,11 @@ public class Arena implements IArena {
                 .get(MessageKeys.GAME_START_MESSAGE)
                 .send(game.getConnectedPlayers().stream().map(PlayerMapper::wrapPlayer).toArray(PlayerWrapper[]::new));
 
+        // group the spawners once so tier upgrades only visit the spawners they affect
+        game.getItemSpawners().forEach(itemSpawner -> itemSpawnersByMaterial
+                .computeIfAbsent(itemSpawner.getItemSpawnerType().getMaterial(), k -> new ArrayList<>())
+                .add((ItemSpawner) itemSpawner));
+
         // spawn rotating generators
         if (SBAConfig.getInstance().node("floating-generator", "enabled").getBoolean()) {
             game.getItemSpawners()
@@ -261,9 +336,12 @@ public class Arena implements IArena {
         scoreboardManager.destroy();
         gameTasks.forEach(BaseGameTask::stop);
         gameTasks.clear();
+        baseZoneEngine.clear();
 
         rotatingGenerators.forEach(IRotatingGenerator::destroy);
         rotatingGenerators.clear();
+        rotatingGeneratorsByMaterial.clear();
+        itemSpawnersByMaterial.clear();
 
         storeNPCS.forEach(NPC::destroy);
         upgradeStoreNPCS.forEach(NPC::destroy);
@@ -272,6 +350,8 @@ public class Arena implements IArena {
         upgradeStoreNPCS.clear();
 
         getInvisiblePlayers().forEach(this::removeHiddenPlayer);
+        invisibilityManager.clear();
+        storeItemRenderCache.clear();
 
     }
 
@@ -290,12 +370,17 @@ public class Arena implements IArena {
     public void removePlayerFromGame(Player player) {
         scoreboardManager.removeScoreboard(player);
         removeVisualsForPlayer(player);
+        baseProximityIndex.remove(player);
+        baseZoneEngine.remove(player);
+        removeHiddenPlayer(player);
+        ArenaManager.getInstance().getGamePlayerIndex().remove(player);
 
     }
 
     public void onOver(BedwarsGameEndingEvent e) {
         // destroy scoreboard manager instance and GameTask, we do not need these
         // anymore
+        getInvisiblePlayers().forEach(this::removeHiddenPlayer);
 
         final var winner = e.getWinningTeam();
         if (winner != null) {
@@ -356,17 +441,17 @@ public class Arena implements IArena {
             LanguageService
                     .getInstance()
                     .get(MessageKeys.OVERSTATS_MESSAGE)
-                    .replace("%color%",
-                            org.screamingsandals.bedwars.game.TeamColor.valueOf(winner.getColor().name()).chatColor
+                    .replace(Placeholders.create()
+                            .put("color", org.screamingsandals.bedwars.game.TeamColor.valueOf(winner.getColor().name()).chatColor
                                     .toString())
-                    .replace("%win_team%", winner.getName())
-                    .replace("%winners%", WinTeamPlayers.toString())
-                    .replace("%first_killer_name%", firstKillerName)
-                    .replace("%second_killer_name%", secondKillerName)
-                    .replace("%third_killer_name%", thirdKillerName)
-                    .replace("%first_killer_score%", String.valueOf(firstKillerScore))
-                    .replace("%second_killer_score%", String.valueOf(secondKillerScore))
-                    .replace("%third_killer_score%", String.valueOf(thirdKillerScore))
+                            .put("win_team", winner.getName())
+                            .put("winners", WinTeamPlayers.toString())
+                            .put("first_killer_name", firstKillerName)
+                            .put("second_killer_name", secondKillerName)
+                            .put("third_killer_name", thirdKillerName)
+                            .put("first_killer_score", firstKillerScore)
+                            .put("second_killer_score", secondKillerScore)
+                            .put("third_killer_score", thirdKillerScore))
                     .send(game.getConnectedPlayers().stream().map(PlayerMapper::wrapPlayer)
                             .toArray(PlayerWrapper[]::new));
         }
@@ -378,6 +463,37 @@ public class Arena implements IArena {
                 itemSpawner.getLocation());
         generator.spawn(game.getConnectedPlayers());
         rotatingGenerators.add(generator);
+        rotatingGeneratorsByMaterial
+                .computeIfAbsent(rotationMaterial, k -> new ArrayList<>())
+                .add(generator);
+    }
+
+    /**
+     * Gets the item spawners of the game that spawn the given material.
+     *
+     * @param material the material spawned
+     * @return the item spawners of the material, empty if there are none or the game has not started yet
+     */
+    @NotNull
+    public List<ItemSpawner> getItemSpawners(@Nullable Material material) {
+        if (material == null) {
+            return List.of();
+        }
+        return itemSpawnersByMaterial.getOrDefault(material, List.of());
+    }
+
+    /**
+     * Gets the rotating generators of the arena which rotate the given material.
+     *
+     * @param material the material of the rotating item
+     * @return the rotating generators of the material, empty if there are none
+     */
+    @NotNull
+    public List<RotatingGenerator> getRotatingGenerators(@Nullable Material material) {
+        if (material == null) {
+            return List.of();
+        }
+        return rotatingGeneratorsByMaterial.getOrDefault(material, List.of());
     }
 
     @NotNull
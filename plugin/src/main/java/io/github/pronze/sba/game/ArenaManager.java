@@ -22,6 +22,8 @@ public class ArenaManager implements IArenaManager {
 
     @Getter
     private final Map<String, IArena> arenaMap = new HashMap<>();
+    @Getter
+    private final GamePlayerIndex gamePlayerIndex = new GamePlayerIndex();
 
     public List<IArena> getRegisteredArenas() {
         return List.copyOf(arenaMap.values());
@@ -42,7 +44,10 @@ public class ArenaManager implements IArenaManager {
     @Override
     public void removeArena(@NotNull Game game) {
         Logger.trace("Removing arena for game: {}", game.getName());
-        arenaMap.remove(game.getName());
+        final var arena = arenaMap.remove(game.getName());
+        if (arena != null) {
+            gamePlayerIndex.removeArena((Arena) arena);
+        }
     }
 
     @Override
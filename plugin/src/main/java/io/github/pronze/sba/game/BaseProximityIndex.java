@@ -0,0 +1,137 @@
+package io.github.pronze.sba.game;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Buckets the players of an arena into 16x16 block cells and remembers which cells surround each team base.
+ * The index is updated from movement only when a player crosses a cell border, so looking up the players
+ * near a base only touches the few players standing in the cells around it.
+ */
+public class BaseProximityIndex {
+    private static final int CELL_SHIFT = 4;
+
+    private final Map<Long, Set<Player>> playersByCell = new HashMap<>();
+    private final Map<UUID, Long> cellOfPlayer = new HashMap<>();
+    private final Map<RunningTeam, Base> bases = new HashMap<>();
+    private final double radiusSquared;
+    // reused by the lookups, which only run on the main thread
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    public BaseProximityIndex(@NotNull IArena arena, int range) {
+        this.radiusSquared = (double) range * range;
+        arena.getGame().getRunningTeams().forEach(team -> arena.getStorage()
+                .getTargetBlockLocation(team)
+                .ifPresent(location -> bases.put(team, new Base(location, range))));
+        arena.getGame().getConnectedPlayers().forEach(player -> update(player, player.getLocation()));
+    }
+
+    public static boolean isSameCell(@NotNull Location from, @NotNull Location to) {
+        return (from.getBlockX() >> CELL_SHIFT) == (to.getBlockX() >> CELL_SHIFT)
+                && (from.getBlockZ() >> CELL_SHIFT) == (to.getBlockZ() >> CELL_SHIFT)
+                && from.getWorld() == to.getWorld();
+    }
+
+    private static long toCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Moves the player to the cell of the given location, does nothing if the player is already in that cell.
+     *
+     * @param player the player that has moved
+     * @param to the new location of the player
+     */
+    public void update(@NotNull Player player, @NotNull Location to) {
+        final var key = toCellKey(to.getBlockX() >> CELL_SHIFT, to.getBlockZ() >> CELL_SHIFT);
+        final var previous = cellOfPlayer.put(player.getUniqueId(), key);
+        if (previous != null) {
+            if (previous == key) {
+                return;
+            }
+            removeFromCell(player, previous);
+        }
+        playersByCell.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(player);
+    }
+
+    public void remove(@NotNull Player player) {
+        final var previous = cellOfPlayer.remove(player.getUniqueId());
+        if (previous != null) {
+            removeFromCell(player, previous);
+        }
+    }
+
+    private void removeFromCell(Player player, long key) {
+        final var cell = playersByCell.get(key);
+        if (cell == null) {
+            return;
+        }
+        cell.remove(player);
+        if (cell.isEmpty()) {
+            playersByCell.remove(key);
+        }
+    }
+
+    /**
+     * Gets the players within the detection range of the base of the team, regardless of their team.
+     *
+     * @param team the team owning the base
+     * @return a list of players in range of the base, empty if nobody is around
+     */
+    @NotNull
+    public List<Player> getPlayersNearBase(@NotNull RunningTeam team) {
+        final var base = bases.get(team);
+        if (base == null) {
+            return List.of();
+        }
+        List<Player> nearby = null;
+        for (long key : base.cells) {
+            final var cell = playersByCell.get(key);
+            if (cell == null) {
+                continue;
+            }
+            for (Player player : cell) {
+                final var location = player.getLocation(scratch);
+                if (location.getWorld() != base.location.getWorld()
+                        || location.distanceSquared(base.location) > radiusSquared) {
+                    continue;
+                }
+                if (nearby == null) {
+                    nearby = new ArrayList<>(4);
+                }
+                nearby.add(player);
+            }
+        }
+        return nearby == null ? List.of() : nearby;
+    }
+
+    private static class Base {
+        private final Location location;
+        private final long[] cells;
+
+        private Base(Location location, int range) {
+            this.location = location;
+            final int minX = (location.getBlockX() - range) >> CELL_SHIFT;
+            final int maxX = (location.getBlockX() + range) >> CELL_SHIFT;
+            final int minZ = (location.getBlockZ() - range) >> CELL_SHIFT;
+            final int maxZ = (location.getBlockZ() + range) >> CELL_SHIFT;
+            this.cells = new long[(maxX - minX + 1) * (maxZ - minZ + 1)];
+            int i = 0;
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    cells[i++] = toCellKey(x, z);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.pronze.sba.game;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.Main;
+import org.screamingsandals.bedwars.api.RunningTeam;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes on every run of the zone task which players are inside the zone of each team base and notifies the subscribed
+ * {@link BaseZoneListener}s of the enter, stay and leave transitions.
+ * The players near a base are looked up through the {@link BaseProximityIndex} of the arena.
+ */
+public class BaseZoneEngine {
+    private final IArena arena;
+    private final BaseProximityIndex index;
+    private final List<BaseZoneListener> listeners = new ArrayList<>();
+    private final Map<RunningTeam, Map<Player, Occupant>> occupants = new HashMap<>();
+    private long currentTick;
+
+    public BaseZoneEngine(@NotNull IArena arena, @NotNull BaseProximityIndex index) {
+        this.arena = arena;
+        this.index = index;
+    }
+
+    public void subscribe(@NotNull BaseZoneListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void unsubscribe(@NotNull BaseZoneListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param elapsedTicks the amount of ticks since the previous run
+     */
+    public void tick(int elapsedTicks) {
+        currentTick++;
+        for (final var team : arena.getGame().getRunningTeams()) {
+            final var zone = occupants.computeIfAbsent(team, k -> new HashMap<>());
+            for (final var player : index.getPlayersNearBase(team)) {
+                final var profile = Main.getPlayerGameProfile(player);
+                if (profile == null || profile.isSpectator) {
+                    continue;
+                }
+                final var occupant = zone.get(player);
+                if (occupant == null) {
+                    zone.put(player, new Occupant(currentTick));
+                    for (final var listener : listeners) {
+                        listener.onEnter(team, player);
+                    }
+                    continue;
+                }
+                occupant.lastSeenTick = currentTick;
+                occupant.ticksInside += elapsedTicks;
+                for (final var listener : listeners) {
+                    listener.onStay(team, player, occupant.ticksInside);
+                }
+            }
+
+            if (zone.isEmpty()) {
+                continue;
+            }
+            final var iterator = zone.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final var entry = iterator.next();
+                if (entry.getValue().lastSeenTick != currentTick) {
+                    iterator.remove();
+                    for (final var listener : listeners) {
+                        listener.onLeave(team, entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of the players currently inside the zone of the base, used when an upgrade of the
+     * base is armed so it does not wait for the next player entering.
+     *
+     * @param team the team owning the base
+     */
+    public void notifyArmed(@NotNull RunningTeam team) {
+        final var zone = occupants.get(team);
+        if (zone == null || zone.isEmpty()) {
+            return;
+        }
+        for (final var player : new ArrayList<>(zone.keySet())) {
+            for (final var listener : listeners) {
+                listener.onArmed(team, player);
+            }
+        }
+    }
+
+    /**
+     * Removes the player from every base zone, used when the player leaves the game.
+     *
+     * @param player the player to remove
+     */
+    public void remove(@NotNull Player player) {
+        occupants.forEach((team, zone) -> {
+            if (zone.remove(player) != null) {
+                listeners.forEach(listener -> listener.onLeave(team, player));
+            }
+        });
+    }
+
+    public void clear() {
+        occupants.clear();
+        listeners.clear();
+    }
+
+    private static class Occupant {
+        private long lastSeenTick;
+        private int ticksInside;
+
+        private Occupant(long lastSeenTick) {
+            this.lastSeenTick = lastSeenTick;
+        }
+    }
+}
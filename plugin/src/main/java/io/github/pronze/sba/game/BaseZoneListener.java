@@ -0,0 +1,50 @@
+package io.github.pronze.sba.game;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+
+/**
+ * Receives the transitions of players around team bases computed by the {@link BaseZoneEngine}.
+ * Spectators never enter a base zone.
+ */
+public interface BaseZoneListener {
+
+    /**
+     * Called on the first check a player is found within range of a base.
+     *
+     * @param baseTeam the team owning the base
+     * @param player the player that entered the zone
+     */
+    default void onEnter(@NotNull RunningTeam baseTeam, @NotNull Player player) {
+    }
+
+    /**
+     * Called on every check a player remains within range of a base, after the check it entered on.
+     *
+     * @param baseTeam the team owning the base
+     * @param player the player inside the zone
+     * @param ticksInside the amount of ticks the player has been inside the zone
+     */
+    default void onStay(@NotNull RunningTeam baseTeam, @NotNull Player player, int ticksInside) {
+    }
+
+    /**
+     * Called once for every player inside the zone of a base when an upgrade of the base has been armed,
+     * see {@link BaseZoneEngine#notifyArmed(RunningTeam)}.
+     *
+     * @param baseTeam the team owning the base
+     * @param player the player inside the zone
+     */
+    default void onArmed(@NotNull RunningTeam baseTeam, @NotNull Player player) {
+    }
+
+    /**
+     * Called on the first check a player is no longer within range of a base, or when it has left the game.
+     *
+     * @param baseTeam the team owning the base
+     * @param player the player that left the zone
+     */
+    default void onLeave(@NotNull RunningTeam baseTeam, @NotNull Player player) {
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.pronze.sba.game;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps the entity ids of the players of every running arena to their arena.
+ * The index is written on the main thread when players join, leave or respawn and is read by the packet
+ * listener from the netty threads. Writes are rare, each one rebuilds an immutable int keyed table that is
+ * published through a volatile field, so lookups neither lock nor box the entity id.
+ * Each entry also carries whether the player is currently hidden, together with a global count of hidden
+ * players so the packet listener can skip every packet while nobody is invisible.
+ */
+public class GamePlayerIndex {
+    private final Map<UUID, Entry> entriesByPlayer = new HashMap<>();
+    private final AtomicInteger hiddenPlayers = new AtomicInteger();
+    private volatile Table table = Table.EMPTY;
+
+    /**
+     * Adds the player to the index or updates its entity id, which can change after a respawn.
+     *
+     * @param arena the arena the player is playing in
+     * @param player the player to index
+     */
+    public synchronized void add(@NotNull Arena arena, @NotNull Player player) {
+        final var entry = new Entry(arena, player, player.getEntityId());
+        final var previous = entriesByPlayer.put(player.getUniqueId(), entry);
+        if (previous != null && previous.hidden) {
+            entry.hidden = true;
+        }
+        rebuild();
+    }
+
+    public synchronized void remove(@NotNull Player player) {
+        final var entry = entriesByPlayer.remove(player.getUniqueId());
+        if (entry == null) {
+            return;
+        }
+        if (entry.hidden) {
+            hiddenPlayers.decrementAndGet();
+        }
+        rebuild();
+    }
+
+    public synchronized void removeArena(@NotNull Arena arena) {
+        final var removed = entriesByPlayer.values().removeIf(entry -> {
+            if (entry.arena != arena) {
+                return false;
+            }
+            if (entry.hidden) {
+                hiddenPlayers.decrementAndGet();
+            }
+            return true;
+        });
+        if (removed) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Marks the player as hidden or visible, the player is indexed first if it is missing or its entity id changed.
+     *
+     * @param arena the arena the player is playing in
+     * @param player the player
+     * @param hidden true if the player has become invisible
+     */
+    public synchronized void setHidden(@NotNull Arena arena, @NotNull Player player, boolean hidden) {
+        var entry = entriesByPlayer.get(player.getUniqueId());
+        if (entry == null || entry.entityId != player.getEntityId()) {
+            add(arena, player);
+            entry = entriesByPlayer.get(player.getUniqueId());
+        }
+        if (entry.hidden == hidden) {
+            return;
+        }
+        entry.hidden = hidden;
+        if (hidden) {
+            hiddenPlayers.incrementAndGet();
+        } else {
+            hiddenPlayers.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return true if at least one player of any arena is hidden
+     */
+    public boolean hasHiddenPlayers() {
+        return hiddenPlayers.get() > 0;
+    }
+
+    @Nullable
+    public Entry get(int entityId) {
+        return table.get(entityId);
+    }
+
+    private void rebuild() {
+        table = entriesByPlayer.isEmpty() ? Table.EMPTY : new Table(entriesByPlayer.values());
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Entry {
+        private final Arena arena;
+        private final Player player;
+        private final int entityId;
+        private volatile boolean hidden;
+    }
+
+    /**
+     * An open addressing table from entity id to entry, never changed once built.
+     */
+    private static class Table {
+        private static final Table EMPTY = new Table(List.of());
+
+        private final int[] keys;
+        private final Entry[] entries;
+        private final int mask;
+
+        private Table(Iterable<Entry> values) {
+            var size = 0;
+            for (Entry ignored : values) {
+                size++;
+            }
+            // at most half full, so probes stay short
+            final var capacity = Integer.highestOneBit(Math.max(4, size * 2) - 1) << 1;
+            keys = new int[capacity];
+            entries = new Entry[capacity];
+            mask = capacity - 1;
+            for (Entry entry : values) {
+                var slot = slot(entry.entityId);
+                while (entries[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = entry.entityId;
+                entries[slot] = entry;
+            }
+        }
+
+        private Entry get(int entityId) {
+            var slot = slot(entityId);
+            Entry entry;
+            while ((entry = entries[slot]) != null) {
+                if (keys[slot] == entityId) {
+                    return entry;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private int slot(int entityId) {
+            final var hash = entityId * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
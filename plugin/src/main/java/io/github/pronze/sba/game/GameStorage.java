@@ -12,6 +12,7 @@ import java.util.Optional;
 
 public class GameStorage implements IGameStorage {
     private final Map<RunningTeam, GameTeamData> teamDataMap = new HashMap<>();
+    private final Map<RunningTeam, Integer> upgradeVersions = new HashMap<>();
     private RunningTeam team;
 
     public GameStorage(Game game) {
@@ -56,6 +57,7 @@ public class GameStorage implements IGameStorage {
             throw new UnsupportedOperationException("Team: " + team.getName() + " has not been registered yet!");
         }
         teamDataMap.get(team).setSharpness(level);
+        upgradeVersions.merge(team, 1, Integer::sum);
     }
 
     @Override
@@ -64,6 +66,7 @@ public class GameStorage implements IGameStorage {
             throw new UnsupportedOperationException("Team: " + team.getName() + " has not been registered yet!");
         }
         teamDataMap.get(team).setProtection(level);
+        upgradeVersions.merge(team, 1, Integer::sum);
     }
 
     @Override
@@ -72,6 +75,12 @@ public class GameStorage implements IGameStorage {
             throw new UnsupportedOperationException("Team: " + team.getName() + " has not been registered yet!");
         }
         teamDataMap.get(team).setEfficiency(level);
+        upgradeVersions.merge(team, 1, Integer::sum);
+    }
+
+    @Override
+    public int getUpgradeVersion(@NotNull RunningTeam team) {
+        return upgradeVersions.getOrDefault(team, 0);
     }
 
     @Override
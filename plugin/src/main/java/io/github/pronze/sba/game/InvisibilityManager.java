@@ -0,0 +1,246 @@
+package io.github.pronze.sba.game;
+
+import io.github.pronze.lib.pronzelib.scoreboards.holder.ScoreboardHolder;
+import io.github.pronze.sba.game.tasks.ArenaTaskScheduler;
+import io.github.pronze.sba.utils.Logger;
+import io.github.pronze.sba.visuals.GameScoreboardManager;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scoreboard.Team.Option;
+import org.bukkit.scoreboard.Team.OptionStatus;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+import org.screamingsandals.bedwars.game.TeamColor;
+import org.screamingsandals.lib.item.Item;
+import org.screamingsandals.lib.item.builder.ItemFactory;
+import org.screamingsandals.lib.packet.SClientboundSetEquipmentPacket;
+import org.screamingsandals.lib.player.PlayerMapper;
+import org.screamingsandals.lib.slot.EquipmentSlotMapping;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sends the visibility changes of the invisible players of an arena to the other players.
+ * The invisible teams are registered on every board when it is created, equipment packets are built once per
+ * change and sent to every viewer, and refreshes requested during a tick are sent together on the next one.
+ * The invisibility of each player expires from a queue ordered by the end tick of its effect, a single task is
+ * scheduled for the earliest expiry.
+ */
+public class InvisibilityManager {
+    private final Arena arena;
+    private final Set<InvisiblePlayerImpl> pendingRefreshes = new LinkedHashSet<>();
+    private boolean flushScheduled;
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>(Comparator.comparingLong(Expiry::getEndTick));
+    private final Map<UUID, Expiry> expiryByPlayer = new HashMap<>();
+    private TaskerTask expiryTask;
+    private long expiryTaskTick = Long.MAX_VALUE;
+
+    public InvisibilityManager(@NotNull Arena arena) {
+        this.arena = arena;
+    }
+
+    public static String getInvisibleTeamName(@NotNull RunningTeam team) {
+        return "i-" + team.getName();
+    }
+
+    /**
+     * Registers the invisible team of every team of the arena on the board.
+     *
+     * @param holder the board of a player of the arena
+     */
+    public void registerTeams(@NotNull ScoreboardHolder holder) {
+        arena.getGame().getRunningTeams().forEach(team -> {
+            final var invisTeamName = getInvisibleTeamName(team);
+            if (holder.hasTeamEntry(invisTeamName)) {
+                return;
+            }
+            holder.addTeam(invisTeamName, TeamColor.fromApiColor(team.getColor()).chatColor);
+            holder.getTeamOrRegister(invisTeamName).setOption(Option.NAME_TAG_VISIBILITY, OptionStatus.NEVER);
+        });
+    }
+
+    /**
+     * Moves the player to the invisible team of its team on every board, or back to its team.
+     */
+    public void setNameTagHidden(@NotNull Player player, @NotNull RunningTeam team, boolean hidden) {
+        final var teamName = hidden ? getInvisibleTeamName(team) : team.getName();
+        final var scoreboardManager = (GameScoreboardManager) arena.getScoreboardManager();
+        arena.getGame().getConnectedPlayers().forEach(connectedPlayer -> scoreboardManager
+                .getScoreboard(connectedPlayer.getUniqueId())
+                .ifPresent(scoreboard -> {
+                    final var holder = scoreboard.getHolder();
+                    if (hidden) {
+                        registerTeams(holder);
+                    }
+                    // adding an entry to a team removes it from its previous team
+                    final var scoreboardTeam = holder.getTeamOrRegister(teamName);
+                    if (!scoreboardTeam.hasEntry(player.getName())) {
+                        scoreboardTeam.addEntry(player.getName());
+                    }
+                }));
+    }
+
+    /**
+     * Sends empty armor slots of the player to its enemies, the held item stays visible.
+     */
+    public void hideEquipment(@NotNull Player player) {
+        final var team = arena.getGame().getTeamOfPlayer(player);
+        if (team == null) {
+            return;
+        }
+        final var air = ItemFactory.getAir();
+        final var packet = createEquipmentPacket(player, air, air, air, air,
+                convert(player.getInventory().getItemInMainHand()));
+        final var teammates = new HashSet<>(team.getConnectedPlayers());
+        arena.getGame().getConnectedPlayers().forEach(viewer -> {
+            if (!teammates.contains(viewer)) {
+                packet.sendPacket(PlayerMapper.wrapPlayer(viewer));
+            }
+        });
+    }
+
+    /**
+     * Sends the actual equipment of the player to every player of the arena.
+     */
+    public void showEquipment(@NotNull Player player) {
+        final var inventory = player.getInventory();
+        final var packet = createEquipmentPacket(player,
+                convert(inventory.getHelmet()),
+                convert(inventory.getChestplate()),
+                convert(inventory.getLeggings()),
+                convert(inventory.getBoots()),
+                convert(inventory.getItemInMainHand()));
+        arena.getGame().getConnectedPlayers().forEach(viewer -> packet.sendPacket(PlayerMapper.wrapPlayer(viewer)));
+    }
+
+    /**
+     * Hides the equipment of the player again on the next tick, requests made in the same tick are merged.
+     */
+    public void requestRefresh(@NotNull InvisiblePlayerImpl invisiblePlayer) {
+        pendingRefreshes.add(invisiblePlayer);
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        Tasker.build(this::flushRefreshes).afterOneTick().start();
+    }
+
+    private void flushRefreshes() {
+        flushScheduled = false;
+        final var refreshes = Set.copyOf(pendingRefreshes);
+        pendingRefreshes.clear();
+        refreshes.forEach(invisiblePlayer -> {
+            if (!invisiblePlayer.isHidden()) {
+                return;
+            }
+            Logger.trace("Refreshing hidden equipment of player: {}", invisiblePlayer.getHiddenPlayer().getName());
+            hideEquipment(invisiblePlayer.getHiddenPlayer());
+        });
+    }
+
+    /**
+     * Schedules the end of the invisibility of the player, replacing its previous expiry.
+     *
+     * @param player the hidden player
+     * @param durationTicks the remaining duration of the invisibility effect
+     */
+    public void scheduleExpiry(@NotNull Player player, long durationTicks) {
+        cancelExpiry(player);
+        final var expiry = new Expiry(player.getUniqueId(), getCurrentTick() + Math.max(1L, durationTicks));
+        expiryByPlayer.put(expiry.playerUUID, expiry);
+        expiries.add(expiry);
+        if (expiry.endTick < expiryTaskTick) {
+            scheduleExpiryTask(expiry.endTick);
+        }
+    }
+
+    public void cancelExpiry(@NotNull Player player) {
+        final var expiry = expiryByPlayer.remove(player.getUniqueId());
+        if (expiry != null) {
+            // dropped from the queue once it reaches the head
+            expiry.cancelled = true;
+        }
+    }
+
+    private void expire() {
+        expiryTask = null;
+        expiryTaskTick = Long.MAX_VALUE;
+        final long currentTick = getCurrentTick();
+        while (!expiries.isEmpty() && (expiries.peek().cancelled || expiries.peek().endTick <= currentTick)) {
+            final var expiry = expiries.poll();
+            if (expiry.cancelled) {
+                continue;
+            }
+            expiryByPlayer.remove(expiry.playerUUID);
+            arena.getHiddenPlayer(expiry.playerUUID)
+                    .map(InvisiblePlayer::getHiddenPlayer)
+                    .ifPresent(arena::removeHiddenPlayer);
+        }
+        if (!expiries.isEmpty()) {
+            scheduleExpiryTask(expiries.peek().endTick);
+        }
+    }
+
+    private void scheduleExpiryTask(long tick) {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+        }
+        expiryTaskTick = tick;
+        expiryTask = Tasker.build(this::expire).delay(Math.max(1L, tick - getCurrentTick()), TaskerTime.TICKS).start();
+    }
+
+    private static long getCurrentTick() {
+        return ArenaTaskScheduler.getInstance().getCurrentTick();
+    }
+
+    public void clear() {
+        pendingRefreshes.clear();
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
+        }
+        expiryTaskTick = Long.MAX_VALUE;
+        expiries.clear();
+        expiryByPlayer.clear();
+    }
+
+    private static Item convert(ItemStack itemStack) {
+        return ItemFactory.build(itemStack).orElse(ItemFactory.getAir());
+    }
+
+    private static SClientboundSetEquipmentPacket createEquipmentPacket(Player player, Item helmet, Item chestPlate,
+                                                                        Item leggings, Item boots, Item hand) {
+        final var packet = new SClientboundSetEquipmentPacket();
+        packet.entityId(player.getEntityId());
+        final var slots = packet.slots();
+        slots.put(EquipmentSlotMapping.resolve("HAND").orElseThrow(), hand);
+        slots.put(EquipmentSlotMapping.resolve("HEAD").orElseThrow(), helmet);
+        slots.put(EquipmentSlotMapping.resolve("CHEST").orElseThrow(), chestPlate);
+        slots.put(EquipmentSlotMapping.resolve("LEGS").orElseThrow(), leggings);
+        slots.put(EquipmentSlotMapping.resolve("FEET").orElseThrow(), boots);
+        return packet;
+    }
+
+    @Getter
+    private static class Expiry {
+        private final UUID playerUUID;
+        private final long endTick;
+        private boolean cancelled;
+
+        private Expiry(UUID playerUUID, long endTick) {
+            this.playerUUID = playerUUID;
+            this.endTick = endTick;
+        }
+    }
+}
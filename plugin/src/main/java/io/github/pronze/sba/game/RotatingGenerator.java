@@ -9,16 +9,14 @@ import org.bukkit.Material;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.screamingsandals.bedwars.game.ItemSpawner;
 import io.github.pronze.sba.MessageKeys;
-import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.lang.Placeholders;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import io.github.pronze.sba.utils.Logger;
-import io.github.pronze.sba.utils.SBAUtil;
+import io.github.pronze.sba.visuals.GeneratorHologramRenderer;
 import org.screamingsandals.lib.hologram.Hologram;
 import org.screamingsandals.lib.hologram.HologramManager;
 import org.screamingsandals.lib.item.builder.ItemFactory;
@@ -43,7 +41,7 @@ public class RotatingGenerator implements IRotatingGenerator {
     @Getter
     private final ItemStack stack;
 
-    private BukkitTask hologramTask;
+    private final Placeholders placeholders = new Placeholders();
     private Hologram hologram;
     private List<Item> spawnedItems;
 
@@ -55,7 +53,7 @@ public class RotatingGenerator implements IRotatingGenerator {
         this.time = itemSpawner.getItemSpawnerType().getInterval() + 1;
         this.lines = LanguageService
                 .getInstance()
-                .get(MessageKeys.ROTATING_GENERATOR_FORMAT)
+                .getTemplate(MessageKeys.ROTATING_GENERATOR_FORMAT)
                 .toStringList();
         this.spawnedItems = (List<Item>) Reflect.getField(itemSpawner, "spawnedItems");
     }
@@ -88,65 +86,57 @@ public class RotatingGenerator implements IRotatingGenerator {
         hologram.removeViewer(PlayerMapper.wrapPlayer(player));
     }
 
-    @SuppressWarnings("unchecked")
     protected void scheduleTasks() {
-        // cancel tasks if pending
-        SBAUtil.cancelTask(hologramTask);
+        GeneratorHologramRenderer.getInstance().register(this);
+    }
+
+    /**
+     * Advances the countdown of the generator by one second and refreshes the hologram lines.
+     *
+     * @param frame the language lines resolved for the current render pass
+     * @param inRange true if a player is close enough to see the hologram, lines are not rewritten otherwise
+     */
+    public void tick(@NotNull GeneratorHologramRenderer.Frame frame, boolean inRange) {
+        if (hologram == null) {
+            return;
+        }
+
+        boolean full = itemSpawner.getMaxSpawnedResources() <= spawnedItems.size();
+        if (!full) {
+            time--;
+        }
 
-        hologramTask = new BukkitRunnable() {
-            @Override
-            public void run() {
+        if (inRange) {
+            if (!hologram.isShown()) {
                 hologram.show();
-                //Logger.trace("RotatingGenerator::hologramTask ({},{})", this,hologramTask);
-
-                boolean full = itemSpawner.getMaxSpawnedResources() <= spawnedItems.size();
-                if (!full) {
-                    time--;
-                }
-                final var format = !full ? LanguageService
-                        .getInstance()
-                        .get(MessageKeys.ROTATING_GENERATOR_FORMAT)
-                        .toStringList() :
-
-                        LanguageService
-                        .getInstance()
-                        .get(MessageKeys.ROTATING_GENERATOR_FULL_TEXT_FORMAT)
-                        .toStringList();
-
-                final var newLines = new ArrayList<String>();
-                final var matName = itemSpawner.getItemSpawnerType().getMaterial() ==
-                        Material.EMERALD ? "§a" + LanguageService
-                        .getInstance()
-                        .get(MessageKeys.EMERALD)
-                        .toString() :
-                        "§b" + LanguageService
-                                .getInstance()
-                                .get(MessageKeys.DIAMOND)
-                                .toString();
-
-                for (String line : format) {
-                    newLines.add(line
-                            .replace("%tier%", ShopUtil.romanNumerals.get(tierLevel))
-                            .replace("%material%", matName + "§6")
-                            .replace("%seconds%", String.valueOf(time)));
-                }
-
-                update(newLines);
-
-                if (time <= 0 || full) {
-                    time = itemSpawner.getItemSpawnerType().getInterval();
-                }
             }
-        }.runTaskTimer(SBA.getPluginInstance(), 0L, 20L);
+            final var format = !full ? frame.getFormat() : frame.getFullFormat();
+            final var matName = itemSpawner.getItemSpawnerType().getMaterial() ==
+                    Material.EMERALD ? frame.getEmeraldName() : frame.getDiamondName();
+
+            update(format.toStringList(placeholders
+                    .put("tier", ShopUtil.romanNumerals.get(tierLevel))
+                    .put("material", matName)
+                    .put("seconds", time)));
+        }
+
+        if (time <= 0 || full) {
+            time = itemSpawner.getItemSpawnerType().getInterval();
+        }
     }
 
     @Override
     public void update(@NotNull List<String> newLines) {
-        if (newLines.equals(lines)) {
+        if (hologram == null || newLines.equals(lines)) {
             return;
         }
+        // only rewrite the lines that have changed, each rewrite is sent to every viewer
         for (int i = 0; i < newLines.size(); i++) {
-            hologram.replaceLine(i, Component.text(newLines.get(i)));
+            final var line = newLines.get(i);
+            if (i < lines.size() && line.equals(lines.get(i))) {
+                continue;
+            }
+            hologram.replaceLine(i, Component.text(line));
         }
         this.lines = new ArrayList<>(newLines);
     }
@@ -154,7 +144,7 @@ public class RotatingGenerator implements IRotatingGenerator {
     public void destroy() {
         Logger.trace("RotatingGenerator::destroy ({})", this);
 
-        SBAUtil.cancelTask(hologramTask);
+        GeneratorHologramRenderer.getInstance().unregister(this);
         if (hologram != null) {
             hologram.destroy();
             hologram = null;
@@ -165,4 +155,9 @@ public class RotatingGenerator implements IRotatingGenerator {
     public void setLocation(@NotNull Location location) {
         this.location = location;
     }
+
+    @NotNull
+    public Location getLocation() {
+        return location;
+    }
 }
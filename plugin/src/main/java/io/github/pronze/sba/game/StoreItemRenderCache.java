@@ -0,0 +1,82 @@
+package io.github.pronze.sba.game;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.screamingsandals.bedwars.api.RunningTeam;
+import org.screamingsandals.lib.item.Item;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the store items of an arena once they have been rendered for a team.
+ * An entry is keyed by the item of the shop file, the team and the store type, and is only served while the upgrade
+ * version of the team is the one it was rendered with and the item given to the renderer has not changed.
+ */
+public class StoreItemRenderCache {
+    private final Map<Key, Entry> entries = new HashMap<>();
+
+    @Nullable
+    public Item get(@NotNull Object shopItem, @NotNull RunningTeam team, @NotNull StoreType type, int upgradeVersion,
+                    @NotNull Item input) {
+        final var entry = entries.get(new Key(shopItem, team, type));
+        if (entry == null || entry.upgradeVersion != upgradeVersion || !entry.input.equals(input)) {
+            return null;
+        }
+        return entry.rendered;
+    }
+
+    public void put(@NotNull Object shopItem, @NotNull RunningTeam team, @NotNull StoreType type, int upgradeVersion,
+                    @NotNull Item input, @NotNull Item rendered) {
+        entries.put(new Key(shopItem, team, type), new Entry(upgradeVersion, input, rendered));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Key {
+        private final Object shopItem;
+        private final RunningTeam team;
+        private final StoreType type;
+        private final int hash;
+
+        private Key(Object shopItem, RunningTeam team, StoreType type) {
+            this.shopItem = shopItem;
+            this.team = team;
+            this.type = type;
+            this.hash = (System.identityHashCode(shopItem) * 31 + team.hashCode()) * 31 + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final var key = (Key) o;
+            // shop items are compared by identity, a reloaded shop file gets new entries
+            return shopItem == key.shopItem && type == key.type && Objects.equals(team, key.team);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Entry {
+        private final int upgradeVersion;
+        private final Item input;
+        private final Item rendered;
+
+        private Entry(int upgradeVersion, Item input, Item rendered) {
+            this.upgradeVersion = upgradeVersion;
+            this.input = input;
+            this.rendered = rendered;
+        }
+    }
+}
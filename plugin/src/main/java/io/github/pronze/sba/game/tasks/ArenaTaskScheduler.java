@@ -0,0 +1,160 @@
+package io.github.pronze.sba.game.tasks;
+
+import io.github.pronze.sba.utils.Logger;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.lib.plugin.ServiceManager;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
+import org.screamingsandals.lib.utils.annotations.Service;
+import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs the {@link BaseGameTask}s of every arena from a single repeating task.
+ * Tasks are kept in a hashed timing wheel with one slot per tick, so each tick only visits the tasks that are due.
+ * Cancelling a task only flags its entry, the entry is dropped the next time its slot is visited.
+ */
+@Service
+public class ArenaTaskScheduler {
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    public static ArenaTaskScheduler getInstance() {
+        return ServiceManager.get(ArenaTaskScheduler.class);
+    }
+
+    private final List<List<Entry>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Set<Entry> entries = new HashSet<>();
+    private List<Entry> spare = new ArrayList<>();
+    private TaskerTask tickTask;
+    private long currentTick;
+    private boolean ticking;
+
+    public ArenaTaskScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    @OnPostEnable
+    public void onPostEnable() {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+        tickTask = Tasker.build(this::tick).repeat(1L, TaskerTime.TICKS).start();
+    }
+
+    @OnPreDisable
+    public void onPreDisable() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        List.copyOf(entries).forEach(Entry::cancel);
+        wheel.forEach(List::clear);
+    }
+
+    public GameTaskHandle schedule(@NotNull BaseGameTask task) {
+        final var previous = task.getTask();
+        if (previous != null) {
+            previous.cancel();
+        }
+        final var entry = new Entry(task, task.getPeriodTicks());
+        entries.add(entry);
+        insert(entry, ticking ? currentTick : currentTick - 1);
+        return entry;
+    }
+
+    public List<GameTaskHandle> getScheduledTasks() {
+        return List.copyOf(entries);
+    }
+
+    /**
+     * @return the amount of ticks the scheduler has run since the plugin was enabled
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private void insert(Entry entry, long fromTick) {
+        final long dueTick = fromTick + entry.periodTicks;
+        entry.rounds = (entry.periodTicks - 1) / WHEEL_SIZE;
+        wheel.get((int) (dueTick & WHEEL_MASK)).add(entry);
+    }
+
+    private void tick() {
+        ticking = true;
+        final int slot = (int) (currentTick & WHEEL_MASK);
+        // swap the bucket out so entries re-inserted into this slot wait for the next revolution
+        final var bucket = wheel.get(slot);
+        wheel.set(slot, spare);
+        spare = bucket;
+
+        for (int i = 0; i < bucket.size(); i++) {
+            final var entry = bucket.get(i);
+            if (entry.cancelled) {
+                continue;
+            }
+            if (entry.rounds > 0) {
+                entry.rounds--;
+                wheel.get(slot).add(entry);
+                continue;
+            }
+            entry.execute();
+            if (!entry.cancelled) {
+                insert(entry, currentTick);
+            }
+        }
+        bucket.clear();
+        currentTick++;
+        ticking = false;
+    }
+
+    @Getter
+    private class Entry implements GameTaskHandle {
+        private final BaseGameTask task;
+        private final long periodTicks;
+        private long rounds;
+        private boolean cancelled;
+        private long runCount;
+        private long lastRunNanos;
+        private long maxRunNanos;
+        private long totalRunNanos;
+
+        private Entry(BaseGameTask task, long periodTicks) {
+            this.task = task;
+            this.periodTicks = periodTicks;
+        }
+
+        private void execute() {
+            final long start = System.nanoTime();
+            try {
+                task.loopLogic();
+            } catch (Throwable t) {
+                Logger.error("Could not run task {} of arena: {}", task.getClass().getSimpleName(),
+                        task.getGame() == null ? "NULL" : task.getGame().getName());
+                t.printStackTrace();
+            }
+            lastRunNanos = System.nanoTime() - start;
+            maxRunNanos = Math.max(maxRunNanos, lastRunNanos);
+            totalRunNanos += lastRunNanos;
+            runCount++;
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            entries.remove(this);
+        }
+    }
+}
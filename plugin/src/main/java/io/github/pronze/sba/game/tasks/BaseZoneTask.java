@@ -0,0 +1,18 @@
+package io.github.pronze.sba.game.tasks;
+
+import io.github.pronze.sba.game.Arena;
+import org.screamingsandals.lib.tasker.TaskerTime;
+
+public class BaseZoneTask extends BaseGameTask {
+    public static final int PERIOD_TICKS = 5;
+
+    public BaseZoneTask() {
+        setDuration(PERIOD_TICKS);
+        setTimeUnit(TaskerTime.TICKS);
+    }
+
+    @Override
+    public void run() {
+        ((Arena) arena).getBaseZoneEngine().tick(PERIOD_TICKS);
+    }
+}
@@ -21,9 +21,7 @@ public class GameTaskManager implements IGameTaskManager {
 
     public GameTaskManager() {
         addTask(new GeneratorTask());
-        addTask(new HealPoolTask());
-        addTask(new TrapTask());
-        addTask(new MinerTrapTask());
+        addTask(new BaseZoneTask());
     }
 
     @Override
@@ -44,14 +42,22 @@ public class GameTaskManager implements IGameTaskManager {
 
     @Override
     public List<BaseGameTask> startTasks(@NotNull IArena arena) {
-        List<BaseGameTask> l = new ArrayList<>(4);
+        List<BaseGameTask> l = new ArrayList<>(2);
         l.add(new GeneratorTask());
-        l.add(new HealPoolTask());
-        l.add(new TrapTask());
-        l.add(new MinerTrapTask());
+        l.add(new BaseZoneTask());
 
         return l.stream()
                 .map(task -> task.start(arena))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public GameTaskHandle schedule(@NotNull BaseGameTask task) {
+        return ArenaTaskScheduler.getInstance().schedule(task);
+    }
+
+    @Override
+    public List<GameTaskHandle> getScheduledTasks() {
+        return ArenaTaskScheduler.getInstance().getScheduledTasks();
+    }
 }
@@ -7,12 +7,17 @@ import io.github.pronze.sba.game.*;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.screamingsandals.bedwars.api.game.Game;
 import org.screamingsandals.lib.player.PlayerMapper;
-import org.screamingsandals.lib.utils.annotations.Service;
 
 import java.text.SimpleDateFormat;
-
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Upgrades the generators of an arena following the tier timeline from the configuration.
+ * Instead of polling every second, the task is only run when the next tier event is due and then
+ * reschedules itself for the following one.
+ */
 public class GeneratorTask extends BaseGameTask {
 
     private static final SimpleDateFormat dateFormat = new SimpleDateFormat("mm:ss");
@@ -21,18 +26,20 @@ public class GeneratorTask extends BaseGameTask {
     private final double multiplier;
     private final boolean timerUpgrades;
     private final boolean showUpgradeMessage;
+    private final Map<GameTierEvent, Integer> timeline = new EnumMap<>(GameTierEvent.class);
     private GameTierEvent nextEvent;
-    private int elapsedTime;
+    private ArenaTaskScheduler scheduler;
+    private long startTick;
 
     public GeneratorTask() {
         nextEvent = GameTierEvent.DIAMOND_GEN_UPGRADE_TIER_II;
         diamond = LanguageService
                 .getInstance()
-                .get(MessageKeys.DIAMOND)
+                .getTemplate(MessageKeys.DIAMOND)
                 .toString();
         emerald = LanguageService
                 .getInstance()
-                .get(MessageKeys.EMERALD)
+                .getTemplate(MessageKeys.EMERALD)
                 .toString();
 
         timerUpgrades = SBAConfig
@@ -43,88 +50,105 @@ public class GeneratorTask extends BaseGameTask {
                 .getBoolean("upgrades.show-upgrade-message", true);
 
         multiplier = SBAConfig.getInstance().getDouble("upgrades.multiplier", 0.25);
+
+        for (GameTierEvent event : GameTierEvent.values()) {
+            timeline.put(event, event.getTime());
+        }
+    }
+
+    @Override
+    public BaseGameTask start(IArena arena) {
+        scheduler = ArenaTaskScheduler.getInstance();
+        startTick = scheduler.getCurrentTick();
+        if (nextEvent == GameTierEvent.GAME_END) {
+            this.arena = arena;
+            this.game = arena.getGame();
+            return this;
+        }
+        return super.start(arena);
+    }
+
+    @Override
+    public long getPeriodTicks() {
+        return Math.max(1L, timeline.get(nextEvent) * 20L - getElapsedTicks());
     }
 
     @Override
     public void run() {
-        if (nextEvent != GameTierEvent.GAME_END) {
-            if (elapsedTime == nextEvent.getTime()) {
-                if (timerUpgrades) {
-                    final var tierName = nextEvent.getKey();
-                    GeneratorUpgradeType upgradeType = GeneratorUpgradeType.fromString(tierName.substring(0, tierName.indexOf("-")));
-                    String matName = null;
-                    Material type = null;
-
-                    switch (upgradeType) {
-                        case DIAMOND:
-                            matName = "§b" + diamond;
-                            type = Material.DIAMOND_BLOCK;
-                            break;
-                        case EMERALD:
-                            matName = "§a" + emerald;
-                            type = Material.EMERALD_BLOCK;
-                            break;
-                    }
-
-                    // check to see if the spawners exist
-                    var emptyQuery = game.getItemSpawners()
-                            .stream()
-                            .filter(itemSpawner -> itemSpawner.getItemSpawnerType().getMaterial() == upgradeType.getMaterial())
-                            .findAny()
-                            .isEmpty();
-
-                    if (emptyQuery) {
-                        type = null;
-                    }
-
-                    game.getItemSpawners().forEach(itemSpawner -> {
-                        if (itemSpawner.getItemSpawnerType().getMaterial() == upgradeType.getMaterial()) {
-                            itemSpawner.addToCurrentLevel(multiplier);
-                        }
-                    });
-
-
-                    Material finalType = type;
-                    arena.getRotatingGenerators().stream()
-                            .map(generator -> (RotatingGenerator) generator)
-                            .filter(generator -> generator.getStack().getType() == finalType)
-                            .forEach(generator -> {
-                                final var event = new SBASpawnerTierUpgradeEvent(game, generator);
-                                Bukkit.getServer().getPluginManager().callEvent(event);
-                                if (event.isCancelled()) {
-                                    return;
-                                }
-                                generator.setTierLevel(generator.getTierLevel() + 1);
-                            });
-
-                    if (showUpgradeMessage && finalType != null) {
-                        LanguageService
-                                .getInstance()
-                                .get(MessageKeys.GENERATOR_UPGRADE_MESSAGE)
-                                .replace("%MatName%", matName)
-                                .replace("%tier%", tierName)
-                                .send(game
-                                        .getConnectedPlayers()
-                                        .stream()
-                                        .map(PlayerMapper::wrapPlayer)
-                                        .toArray(org.screamingsandals.lib.player.PlayerWrapper[]::new));
-                    }
-                }
-                nextEvent = nextEvent.getNextEvent();
+        if (timerUpgrades) {
+            upgrade(nextEvent);
+        }
+        nextEvent = nextEvent.getNextEvent();
+
+        if (nextEvent == GameTierEvent.GAME_END) {
+            stop();
+            return;
+        }
+        // one shot entry for the next tier, replaces the entry currently being run
+        setTask(GameTaskManager.getInstance().schedule(this));
+    }
+
+    private void upgrade(GameTierEvent event) {
+        final var tierName = event.getKey();
+        GeneratorUpgradeType upgradeType = GeneratorUpgradeType.fromString(tierName.substring(0, tierName.indexOf("-")));
+        String matName = null;
+        Material type = null;
+
+        switch (upgradeType) {
+            case DIAMOND:
+                matName = "§b" + diamond;
+                type = Material.DIAMOND_BLOCK;
+                break;
+            case EMERALD:
+                matName = "§a" + emerald;
+                type = Material.EMERALD_BLOCK;
+                break;
+        }
+
+        final var spawners = ((Arena) arena).getItemSpawners(upgradeType.getMaterial());
+
+        // check to see if the spawners exist
+        if (spawners.isEmpty()) {
+            type = null;
+        }
+
+        spawners.forEach(itemSpawner -> itemSpawner.addToCurrentLevel(multiplier));
+
+        for (RotatingGenerator generator : ((Arena) arena).getRotatingGenerators(type)) {
+            final var tierEvent = new SBASpawnerTierUpgradeEvent(game, generator);
+            Bukkit.getServer().getPluginManager().callEvent(tierEvent);
+            if (tierEvent.isCancelled()) {
+                continue;
             }
+            generator.setTierLevel(generator.getTierLevel() + 1);
         }
-        elapsedTime++;
+
+        if (showUpgradeMessage && type != null) {
+            final var material = matName;
+            LanguageService
+                    .getInstance()
+                    .getTemplate(MessageKeys.GENERATOR_UPGRADE_MESSAGE)
+                    .send(key -> key.equals("MatName") ? material : key.equals("tier") ? tierName : null, game
+                            .getConnectedPlayers()
+                            .stream()
+                            .map(PlayerMapper::wrapPlayer)
+                            .toArray(org.screamingsandals.lib.player.PlayerWrapper[]::new));
+        }
+    }
+
+    private long getElapsedTicks() {
+        return scheduler == null ? 0L : scheduler.getCurrentTick() - startTick;
     }
 
     public String getTimeLeftForNextEvent() {
-        return dateFormat.format((nextEvent.getTime() - elapsedTime) * 1000);
+        return dateFormat.format((timeline.get(nextEvent) - getElapsedTicks() / 20L) * 1000);
     }
 
     public String getNextTierName() {
         if (nextEvent == GameTierEvent.GAME_END) {
             return LanguageService
                     .getInstance()
-                    .get(MessageKeys.GAME_END_MESSAGE)
+                    .getTemplate(MessageKeys.GAME_END_MESSAGE)
                     .toString();
         }
         return nextEvent.getKey();
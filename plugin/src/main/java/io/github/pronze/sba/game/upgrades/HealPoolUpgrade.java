@@ -0,0 +1,38 @@
+package io.github.pronze.sba.game.upgrades;
+
+import io.github.pronze.sba.game.BaseZoneListener;
+import io.github.pronze.sba.game.IArena;
+import io.github.pronze.sba.game.tasks.BaseZoneTask;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+
+@RequiredArgsConstructor
+public class HealPoolUpgrade implements BaseZoneListener {
+    private static final int HEAL_INTERVAL_TICKS = 20;
+
+    private final IArena arena;
+
+    @Override
+    public void onEnter(@NotNull RunningTeam team, @NotNull Player player) {
+        heal(team, player);
+    }
+
+    @Override
+    public void onStay(@NotNull RunningTeam team, @NotNull Player player, int ticksInside) {
+        // the zone is checked every few ticks, heal on the check that crosses the interval
+        if (ticksInside % HEAL_INTERVAL_TICKS < BaseZoneTask.PERIOD_TICKS) {
+            heal(team, player);
+        }
+    }
+
+    private void heal(RunningTeam team, Player player) {
+        if (!arena.getStorage().arePoolEnabled(team) || !team.isPlayerInTeam(player)) {
+            return;
+        }
+        player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 30, 1));
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.pronze.sba.game.upgrades;
+
+import io.github.pronze.sba.MessageKeys;
+import io.github.pronze.sba.game.IArena;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+
+public class MinerTrapUpgrade extends TrapUpgrade {
+
+    public MinerTrapUpgrade(@NotNull IArena arena) {
+        super(arena);
+    }
+
+    @Override
+    protected boolean isArmed(@NotNull RunningTeam team) {
+        return arena.getStorage().areMinerTrapEnabled(team);
+    }
+
+    @Override
+    protected void disarm(@NotNull RunningTeam team) {
+        arena.getStorage().setPurchasedMinerTrap(team, false);
+    }
+
+    @Override
+    protected void applyEffect(@NotNull Player player) {
+        player.addPotionEffect(new PotionEffect(PotionEffectType.SLOW_DIGGING, 20 * 10, 2));
+    }
+
+    @Override
+    protected String[] getTriggeredMessage() {
+        return MessageKeys.TEAM_MINER_TRAP_TRIGGERED_MESSAGE;
+    }
+
+    @Override
+    protected String[] getTriggeredTitle() {
+        return MessageKeys.TEAM_MINER_TRAP_TRIGGERED_TITLE;
+    }
+
+    @Override
+    protected String[] getTriggeredSubtitle() {
+        return MessageKeys.TEAM_MINER_TRAP_TRIGGERED_SUBTITLE;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.pronze.sba.game.upgrades;
+
+import io.github.pronze.sba.SBA;
+import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.events.SBATeamTrapTriggeredEvent;
+import io.github.pronze.sba.game.BaseZoneListener;
+import io.github.pronze.sba.game.IArena;
+import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.utils.SBAUtil;
+import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+import org.screamingsandals.bedwars.utils.Sounds;
+import org.screamingsandals.lib.player.PlayerMapper;
+
+/**
+ * Base of the one time traps that fire when an enemy enters the zone of a base.
+ * Enemies already inside when the trap is bought are checked once when it is armed.
+ */
+@RequiredArgsConstructor
+public abstract class TrapUpgrade implements BaseZoneListener {
+    protected final IArena arena;
+
+    protected abstract boolean isArmed(@NotNull RunningTeam team);
+
+    protected abstract void disarm(@NotNull RunningTeam team);
+
+    protected abstract void applyEffect(@NotNull Player player);
+
+    protected abstract String[] getTriggeredMessage();
+
+    protected abstract String[] getTriggeredTitle();
+
+    protected abstract String[] getTriggeredSubtitle();
+
+    @Override
+    public void onEnter(@NotNull RunningTeam team, @NotNull Player player) {
+        trigger(team, player);
+    }
+
+    @Override
+    public void onArmed(@NotNull RunningTeam team, @NotNull Player player) {
+        trigger(team, player);
+    }
+
+    private void trigger(@NotNull RunningTeam team, @NotNull Player player) {
+        if (team.isPlayerInTeam(player) || !isArmed(team)) {
+            return;
+        }
+
+        final var triggeredEvent = new SBATeamTrapTriggeredEvent(player, team, arena);
+        SBA.getPluginInstance().getServer().getPluginManager().callEvent(triggeredEvent);
+
+        if (triggeredEvent.isCancelled()) {
+            return;
+        }
+
+        disarm(team);
+        applyEffect(player);
+
+        if (arena.isPlayerHidden(player)) {
+            arena.removeHiddenPlayer(player);
+        }
+
+        final var teamName = arena.getGame().getTeamOfPlayer(player).getName();
+        LanguageService
+                .getInstance()
+                .getTemplate(getTriggeredMessage())
+                .send(key -> key.equals("team") ? teamName : null, PlayerMapper.wrapPlayer(player).as(SBAPlayerWrapper.class));
+
+        var title = LanguageService
+                .getInstance()
+                .getTemplate(getTriggeredTitle())
+                .toString();
+
+        var subTitle = LanguageService
+                .getInstance()
+                .getTemplate(getTriggeredSubtitle())
+                .toString();
+
+        final var sound = SBAConfig.getInstance().getSnapshot().getTrapTriggeredSound();
+        team.getConnectedPlayers().forEach(pl -> {
+            Sounds.playSound(pl, pl.getLocation(),
+                    sound,
+                    Sounds.ENTITY_ENDERMAN_TELEPORT, 1, 1);
+            SBAUtil.sendTitle(PlayerMapper.wrapPlayer(pl), title, subTitle, 20, 60, 0);
+        });
+    }
+}
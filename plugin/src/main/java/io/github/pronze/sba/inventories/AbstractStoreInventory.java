@@ -31,6 +31,7 @@ import org.screamingsandals.lib.item.Item;
 import org.screamingsandals.lib.item.builder.ItemFactory;
 import org.screamingsandals.lib.utils.ConfigurateUtils;
 import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
 import org.screamingsandals.simpleinventories.builder.InventorySetBuilder;
 import org.screamingsandals.simpleinventories.events.ItemRenderEvent;
 import org.screamingsandals.simpleinventories.events.OnTradeEvent;
@@ -43,11 +44,15 @@ import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
 @RequiredArgsConstructor
 public abstract class AbstractStoreInventory implements IStoreInventory, Listener {
-    private final Map<String, InventorySet> shopMap = new HashMap<>();
+    /**
+     * Replaced as a whole when shops are loaded, so a player never sees a partially loaded set of shops.
+     */
+    private volatile Map<String, InventorySet> shopMap = Map.of();
     @NotNull
     private final String shopPaths;
 
@@ -68,7 +73,68 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
                 });
 
         SBA.getInstance().registerListener(this);
-        loadNewShop("default", null, true);
+        loadShopsAsync();
+    }
+
+    @OnPreDisable
+    public void onPreDisable() {
+        InventoryLoader.shutdown();
+    }
+
+    /**
+     * Parses the default shop and the shops of every store of the loaded games in parallel off the main thread,
+     * the parsed shops replace the loaded ones together once all of them are done.
+     */
+    public void loadShopsAsync() {
+        final var files = new LinkedHashMap<String, Optional<File>>();
+        files.put("default", Optional.empty());
+        Main.getGameNames().forEach(gameName -> {
+            final var game = Main.getGame(gameName);
+            if (game == null) {
+                return;
+            }
+            game.getGameStores().forEach(apiStore -> {
+                final var store = (GameStore) apiStore;
+                if (store.getShopFile() == null || !isShopOf(store)) {
+                    return;
+                }
+                final var file = ShopUtil.normalizeShopFile(store.getShopFile());
+                files.putIfAbsent(getShopKey(file, store.getUseParent()), Optional.of(file));
+            });
+        });
+
+        final var futures = new LinkedHashMap<String, CompletableFuture<InventorySet>>();
+        files.forEach((name, file) -> futures.put(name, InventoryLoader.supplyAsync(() -> createShop(file.orElse(null)))));
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, throwable) -> InventoryLoader.runSync(() -> {
+                    final var loaded = new HashMap<String, InventorySet>();
+                    futures.forEach((name, future) -> {
+                        try {
+                            loaded.put(name, future.join());
+                        } catch (Throwable t) {
+                            Logger.error("Could not load shop: {}", name);
+                            t.printStackTrace();
+                        }
+                    });
+                    shopMap = Map.copyOf(loaded);
+                    onShopsLoaded();
+                    Logger.trace("Loaded shops: {}", loaded.keySet());
+                }));
+    }
+
+    /**
+     * @return true if the shop of the store is opened through this inventory
+     */
+    protected abstract boolean isShopOf(@NotNull GameStore store);
+
+    private static String getShopKey(File file, boolean useParent) {
+        return (useParent ? "+" : "-") + file.getAbsolutePath();
+    }
+
+    /**
+     * Called on the main thread after shops have been loaded or reloaded.
+     */
+    protected void onShopsLoaded() {
     }
 
     public Optional<InventorySet> getInventory(String key) {
@@ -82,16 +148,13 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
             parent = store.getUseParent();
             String fileName = store.getShopFile();
 
-            if (fileName != null) {
-                var file = ShopUtil.normalizeShopFile(fileName);
-                var name = (parent ? "+" : "-") + file.getAbsolutePath();
-                if (!shopMap.containsKey(name)) {
-                    loadNewShop(name, file, parent);
-                }
-                player.openInventory(shopMap.get(name));
-            } else {
-                player.openInventory(shopMap.get("default"));
+            // shops are loaded when the plugin is enabled, they are only parsed here if that has not finished yet
+            final var file = fileName == null ? null : ShopUtil.normalizeShopFile(fileName);
+            final var name = file == null ? "default" : getShopKey(file, parent);
+            if (!shopMap.containsKey(name)) {
+                loadNewShop(name, file, parent);
             }
+            player.openInventory(shopMap.get(name));
         } catch (Throwable ignored) {
             Logger.error("[SBA] Your shop is invalid! Check it out or contact us on Discord. {}",ignored);
             player.sendMessage("[SBA] Your shop is invalid! Check it out or contact us on Discord.");
@@ -100,6 +163,14 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
 
     @Override
     public void loadNewShop(@NotNull String name, @Nullable File file, boolean useParent) {
+        // only the single shop is added, the shops that are already loaded are kept
+        final var merged = new HashMap<>(shopMap);
+        merged.put(name, createShop(file));
+        shopMap = Map.copyOf(merged);
+        onShopsLoaded();
+    }
+
+    private InventorySet createShop(@Nullable File file) {
         final var inventorySet = getInventorySetBuilder()
                 .genericShop(true)
                 .genericShopPriceTypeRequired(true)
@@ -193,8 +264,7 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
             ex.printStackTrace();
             //loadDefault(inventorySet);
         }
-
-        shopMap.put(name, inventorySet);
+        return inventorySet;
     }
 
     @SneakyThrows
@@ -241,7 +311,9 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
 
         var amount = newItem.getAmount();
         var priceAmount = price.getAmount();
-        int inInventory = 0;
+        // the inventory is read once, the currency count, the payment and the delivery are all planned from it
+        final var snapshot = new PurchaseSnapshot(player, type.getStack());
+        final int inInventory = snapshot.getCurrencyAmount();
 
         var currencyChanger = itemInfo.getFirstPropertyByName("currencyChanger");
         if (currencyChanger.isPresent()) {
@@ -265,11 +337,6 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
             double maxStackSize;
             int finalStackSize;
 
-            for (ItemStack itemStack : player.getInventory().getStorageContents()) {
-                if (itemStack != null && itemStack.isSimilar(type.getStack())) {
-                    inInventory = inInventory + itemStack.getAmount();
-                }
-            }
             if (Main.getInstance().getConfig().getBoolean("sell-max-64-per-click-in-shop")) {
                 maxStackSize = Math.min(inInventory / priceOfOne, originalMaxStackSize);
             } else {
@@ -290,8 +357,8 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
                 .orElseThrow();
 
         // purchase failed, player does not have enough resources to purchase
-        if (!event.hasPlayerInInventory(materialItem)) {
-            if (!SBAConfig.getInstance().node("shop", "removePurchaseMessages").getBoolean()) {
+        if (inInventory < priceAmount) {
+            if (!SBAConfig.getInstance().getSnapshot().isRemovePurchaseMessages()) {
                 LanguageService
                         .getInstance()
                         .get(MessageKeys.CANNOT_BUY)
@@ -330,7 +397,7 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
 
         // purchase failed, player does not have enough resources to purchase
         if (!shouldBuyStack && !shouldSellStack) {
-            if (!SBAConfig.getInstance().node("shop", "removePurchaseMessages").getBoolean()) {
+            if (!SBAConfig.getInstance().getSnapshot().isRemovePurchaseMessages()) {
                 LanguageService
                         .getInstance()
                         .get(MessageKeys.CANNOT_BUY)
@@ -339,15 +406,20 @@ public abstract class AbstractStoreInventory implements IStoreInventory, Listene
             }
             return;
         }
-        
-        if (shouldBuyStack) {
-            buyStack(newItem, player);
+
+        final var paid = shouldSellStack ? materialItem.as(ItemStack.class) : null;
+        if (!snapshot.apply(paid, shouldBuyStack ? newItem : null, player.getLocation())) {
+            // the purchase changed the inventory in a way the snapshot does not cover
+            if (shouldBuyStack) {
+                buyStack(newItem, player);
+            }
+            if (shouldSellStack) {
+                event.sellStack(materialItem);
+            }
         }
 
         if (shouldSellStack) {
-            event.sellStack(materialItem);
-
-            if (!SBAConfig.getInstance().node("shop", "removePurchaseMessages").getBoolean()) {
+            if (!SBAConfig.getInstance().getSnapshot().isRemovePurchaseMessages()) {
                 LanguageService
                         .getInstance()
                         .get(MessageKeys.SHOP_PURCHASE_SUCCESS)
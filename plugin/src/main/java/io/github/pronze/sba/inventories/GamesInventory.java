@@ -11,6 +11,7 @@ import org.screamingsandals.lib.player.PlayerMapper;
 import org.screamingsandals.lib.plugin.ServiceManager;
 import org.screamingsandals.lib.utils.annotations.Service;
 import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
 import org.screamingsandals.simpleinventories.SimpleInventoriesCore;
 import org.screamingsandals.simpleinventories.events.PostClickEvent;
 import org.screamingsandals.simpleinventories.inventory.Include;
@@ -28,7 +29,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 @Service(dependsOn = {
         SBAConfig.class,
@@ -49,40 +52,56 @@ public class GamesInventory implements Listener {
         }
     };
 
-    private final HashMap<Integer, InventorySet> inventoryMap = new HashMap<>();
+    /**
+     * Replaced as a whole once all games inventories have been parsed.
+     */
+    private volatile Map<Integer, InventorySet> inventoryMap = Map.of();
 
+    /**
+     * Parses the games inventory of every mode in parallel off the main thread and swaps them in together.
+     */
     @OnPostEnable
     public void loadInventory() {
-        try {
-            labels.forEach((val, label) -> {
-                try {
-                    final var siFormat = SimpleInventoriesCore.builder()
-                            .categoryOptions(localOptionsBuilder -> {
-                                ShopUtil.generateOptions(localOptionsBuilder);
-                                localOptionsBuilder.prefix(LanguageService.getInstance().get("games-inventory", "gui", label.toLowerCase() + "-prefix").toString());
-                            })
-                            .call(categoryBuilder ->{
-                                try {
-                                    var pathStr = SBA.getPluginInstance().getDataFolder().getAbsolutePath() + "/games-inventory/" + label.toLowerCase() + ".yml";
-                                    categoryBuilder.include(Include.of(Paths.get(pathStr)));
-                                }  catch (Throwable t) {
-                                    t.printStackTrace();
-                                }
-                            })
-                            .click(this::onClick)
-                            .process()
-                            .getInventorySet();
+        final var futures = new HashMap<Integer, CompletableFuture<InventorySet>>();
+        labels.forEach((val, label) -> futures.put(val, InventoryLoader.supplyAsync(() -> createInventory(label))));
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, throwable) -> InventoryLoader.runSync(() -> {
+                    final var loaded = new HashMap<Integer, InventorySet>();
+                    futures.forEach((val, future) -> {
+                        try {
+                            loaded.put(val, future.join());
+                            Logger.trace("Successfully loaded games inventory for: {}", labels.get(val));
+                        } catch (Throwable t) {
+                            Logger.trace("Could not initialize games inventory format for {}", labels.get(val));
+                            t.printStackTrace();
+                        }
+                    });
+                    inventoryMap = Map.copyOf(loaded);
+                }));
+    }
 
-                    inventoryMap.put(val, siFormat);
-                    Logger.trace("Successfully loaded games inventory for: {}", label);
-                } catch (Throwable t) {
-                    Logger.trace("Could not initialize games inventory format for {}", label);
-                    t.printStackTrace();
-                }
-            });
-        } catch (Exception ex) {
-            ex.printStackTrace();
-        }
+    @OnPreDisable
+    public void onPreDisable() {
+        InventoryLoader.shutdown();
+    }
+
+    private InventorySet createInventory(String label) {
+        return SimpleInventoriesCore.builder()
+                .categoryOptions(localOptionsBuilder -> {
+                    ShopUtil.generateOptions(localOptionsBuilder);
+                    localOptionsBuilder.prefix(LanguageService.getInstance().get("games-inventory", "gui", label.toLowerCase() + "-prefix").toString());
+                })
+                .call(categoryBuilder ->{
+                    try {
+                        var pathStr = SBA.getPluginInstance().getDataFolder().getAbsolutePath() + "/games-inventory/" + label.toLowerCase() + ".yml";
+                        categoryBuilder.include(Include.of(Paths.get(pathStr)));
+                    }  catch (Throwable t) {
+                        t.printStackTrace();
+                    }
+                })
+                .click(this::onClick)
+                .process()
+                .getInventorySet();
     }
 
     public void openForPlayer(Player player, int mode) {
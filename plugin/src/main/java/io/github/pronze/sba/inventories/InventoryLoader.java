@@ -0,0 +1,61 @@
+package io.github.pronze.sba.inventories;
+
+import io.github.pronze.sba.SBA;
+import org.bukkit.Bukkit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Parses the inventory definitions of SBA in parallel off the main thread.
+ * The parsed inventories are handed back to the main thread, where they are swapped in at once.
+ */
+final class InventoryLoader {
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static ExecutorService executor;
+
+    private InventoryLoader() {
+    }
+
+    static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, getExecutor());
+    }
+
+    static void runSync(Runnable runnable) {
+        if (Bukkit.isPrimaryThread()) {
+            runnable.run();
+            return;
+        }
+        if (!SBA.getPluginInstance().isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(SBA.getPluginInstance(), runnable);
+    }
+
+    /**
+     * Stops the loader threads, called by the services using the loader when they are disabled.
+     * The threads are started again by the next load.
+     */
+    static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+                    runnable -> {
+                        final var thread = new Thread(runnable, "SBA-Inventory-Loader-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return executor;
+    }
+}
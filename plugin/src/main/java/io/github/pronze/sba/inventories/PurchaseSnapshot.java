@@ -0,0 +1,150 @@
+package io.github.pronze.sba.inventories;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The storage contents of a player read in a single pass when a shop item is clicked.
+ * The currency count, the payment and the slots the bought item goes to are all worked out from the snapshot,
+ * only the slots that change are written back once the purchase is done.
+ */
+final class PurchaseSnapshot {
+    private final PlayerInventory inventory;
+    private final ItemStack currency;
+    private final ItemStack[] contents;
+    private final int[] amounts;
+    private final boolean[] isCurrency;
+    private final int currencyAmount;
+
+    PurchaseSnapshot(@NotNull Player player, @NotNull ItemStack currency) {
+        this.inventory = player.getInventory();
+        this.currency = currency;
+        this.contents = inventory.getStorageContents();
+        this.amounts = new int[contents.length];
+        this.isCurrency = new boolean[contents.length];
+
+        int total = 0;
+        for (int slot = 0; slot < contents.length; slot++) {
+            final var stack = contents[slot];
+            if (isEmpty(stack)) {
+                contents[slot] = null;
+                continue;
+            }
+            amounts[slot] = stack.getAmount();
+            if (stack.isSimilar(currency)) {
+                isCurrency[slot] = true;
+                total += amounts[slot];
+            }
+        }
+        currencyAmount = total;
+    }
+
+    /**
+     * @return the amount of currency the player had when the snapshot was taken
+     */
+    int getCurrencyAmount() {
+        return currencyAmount;
+    }
+
+    /**
+     * Takes the price from the currency stacks and adds the item to the inventory the same way
+     * {@link PlayerInventory#addItem(ItemStack...)} would, items that do not fit are dropped at the player.
+     *
+     * @param price the currency to take, null if nothing is paid
+     * @param item the item to add, null if nothing is added
+     * @return false without touching the inventory if the price can not be paid from the snapshot or a slot
+     * changed since the snapshot was taken
+     */
+    boolean apply(@Nullable ItemStack price, @Nullable ItemStack item, @NotNull Location dropLocation) {
+        final var planned = new ItemStack[contents.length];
+        final var touched = new boolean[contents.length];
+
+        if (price != null) {
+            if (!price.isSimilar(currency)) {
+                return false;
+            }
+            var toPay = price.getAmount();
+            for (int slot = 0; slot < contents.length && toPay > 0; slot++) {
+                if (!isCurrency[slot]) {
+                    continue;
+                }
+                final var taken = Math.min(toPay, amounts[slot]);
+                toPay -= taken;
+                touched[slot] = true;
+                planned[slot] = taken == amounts[slot] ? null : withAmount(contents[slot], amounts[slot] - taken);
+            }
+            if (toPay > 0) {
+                return false;
+            }
+        }
+
+        ItemStack leftover = null;
+        if (item != null && !isEmpty(item)) {
+            var toAdd = item.getAmount();
+            final var maxStackSize = item.getMaxStackSize();
+            // top up similar stacks first, then fill the empty slots
+            for (int slot = 0; slot < contents.length && toAdd > 0; slot++) {
+                final var current = touched[slot] ? planned[slot] : contents[slot];
+                if (current == null || current.getAmount() >= maxStackSize || !current.isSimilar(item)) {
+                    continue;
+                }
+                final var added = Math.min(toAdd, maxStackSize - current.getAmount());
+                toAdd -= added;
+                touched[slot] = true;
+                planned[slot] = withAmount(current, current.getAmount() + added);
+            }
+            for (int slot = 0; slot < contents.length && toAdd > 0; slot++) {
+                if ((touched[slot] ? planned[slot] : contents[slot]) != null) {
+                    continue;
+                }
+                final var added = Math.min(toAdd, maxStackSize);
+                toAdd -= added;
+                touched[slot] = true;
+                planned[slot] = withAmount(item, added);
+            }
+            if (toAdd > 0) {
+                leftover = withAmount(item, toAdd);
+            }
+        }
+
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (touched[slot] && !isUnchanged(slot)) {
+                return false;
+            }
+        }
+        for (int slot = 0; slot < contents.length; slot++) {
+            if (touched[slot]) {
+                inventory.setItem(slot, planned[slot]);
+            }
+        }
+        if (leftover != null) {
+            dropLocation.getWorld().dropItem(dropLocation, leftover);
+        }
+        return true;
+    }
+
+    private boolean isUnchanged(int slot) {
+        final var current = inventory.getItem(slot);
+        if (contents[slot] == null) {
+            return isEmpty(current);
+        }
+        return current != null
+                && current.getAmount() == amounts[slot]
+                && current.isSimilar(contents[slot]);
+    }
+
+    private static boolean isEmpty(@Nullable ItemStack stack) {
+        return stack == null || stack.getType() == Material.AIR || stack.getAmount() <= 0;
+    }
+
+    private static ItemStack withAmount(ItemStack stack, int amount) {
+        final var copy = stack.clone();
+        copy.setAmount(amount);
+        return copy;
+    }
+}
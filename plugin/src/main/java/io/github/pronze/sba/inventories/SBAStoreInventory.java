@@ -87,7 +87,7 @@ public class SBAStoreInventory extends AbstractStoreInventory {
                     newItem.get().addEnchantment(Enchantment.DAMAGE_ALL, sharpness);
                 }
 
-                if (SBAConfig.getInstance().node("replace-sword-on-upgrade").getBoolean(true)) {
+                if (SBAConfig.getInstance().getSnapshot().isReplaceSwordOnUpgrade()) {
                     Arrays.stream(player.getInventory().getContents().clone())
                             .filter(Objects::nonNull)
                             .filter(itemStack -> itemStack.getType().name().endsWith("SWORD"))
@@ -139,10 +139,15 @@ public class SBAStoreInventory extends AbstractStoreInventory {
                 );
     }
 
+    @Override
+    protected boolean isShopOf(@NotNull GameStore store) {
+        final var shopFile = store.getShopFile();
+        return (shopFile != null && shopFile.equalsIgnoreCase("shop.yml")) || store.getUseParent();
+    }
+
     @EventHandler
     public void onBedWarsOpenShop(BedwarsOpenShopEvent event) {
-        final var shopFile = event.getStore().getShopFile();
-        if ((shopFile != null && shopFile.equalsIgnoreCase("shop.yml")) || event.getStore().getUseParent()) {
+        if (isShopOf((GameStore) event.getStore())) {
             if (SBAConfig.getInstance().node("shop", "normal-shop", "enabled").getBoolean()) {
                 event.setResult(BedwarsOpenShopEvent.Result.DISALLOW_UNKNOWN);
                 Logger.trace("Player: {} has opened store!", event.getPlayer().getName());
@@ -3,14 +3,13 @@ package io.github.pronze.sba.inventories;
 import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.game.Arena;
 import io.github.pronze.sba.game.ArenaManager;
 import io.github.pronze.sba.game.StoreType;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import io.github.pronze.sba.utils.Logger;
-import io.github.pronze.sba.utils.SBAUtil;
 import io.github.pronze.sba.utils.ShopUtil;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.inventory.ItemStack;
@@ -25,12 +24,10 @@ import org.screamingsandals.lib.plugin.ServiceManager;
 import org.screamingsandals.lib.utils.ConfigurateUtils;
 import org.screamingsandals.lib.utils.Controllable;
 import org.screamingsandals.lib.item.Item;
-import org.screamingsandals.lib.item.builder.ItemFactory;
 import org.screamingsandals.lib.utils.annotations.Service;
 import org.screamingsandals.simpleinventories.SimpleInventoriesCore;
 import org.screamingsandals.simpleinventories.builder.InventorySetBuilder;
 import org.screamingsandals.simpleinventories.events.ItemRenderEvent;
-import org.screamingsandals.simpleinventories.inventory.InventorySet;
 import org.screamingsandals.simpleinventories.inventory.PlayerItemInfo;
 
 import java.util.*;
@@ -46,20 +43,11 @@ public class SBAUpgradeStoreInventory extends AbstractStoreInventory {
         return ServiceManager.get(SBAStoreInventory.class);
     }
 
-    private final static List<String> upgradeProperties = List.of(
-            "sharpness",
-            "protection",
-            "efficiency",
-            "blindtrap",
-            "minertrap",
-            "healpool",
-            "dragon");
-
     public static List<Integer> sharpnessPrices = new ArrayList<>();
     public static List<Integer> protectionPrices = new ArrayList<>();
     public static List<Integer> efficiencyPrices = new ArrayList<>();
 
-    private final Map<String, InventorySet> shopMap = new HashMap<>();
+    private final Map<Object, List<UpgradeProperty>> compiledProperties = new IdentityHashMap<>();
 
     public SBAUpgradeStoreInventory(Controllable controllable) {
         super("shops/upgradeShop.yml");
@@ -102,22 +90,44 @@ public class SBAUpgradeStoreInventory extends AbstractStoreInventory {
         // do nothing here
     }
 
+    @Override
+    protected void onShopsLoaded() {
+        compiledProperties.clear();
+    }
+
     @Override
     public Map.Entry<Boolean, Boolean> handlePurchase(Player player, AtomicReference<ItemStack> newItem,
             AtomicReference<Item> materialItem, PlayerItemInfo itemInfo, ItemSpawnerType type) {
         boolean shouldSellStack = true;
         final var game = Main.getInstance().getGameOfPlayer(player);
-        final var gameStorage = ArenaManager
+        final var arena = (Arena) ArenaManager
                 .getInstance()
                 .get(game.getName())
-                .orElseThrow()
-                .getStorage();
+                .orElseThrow();
+
+        final var purchase = new UpgradeProperty.Purchase(player, game.getTeamOfPlayer(player), arena, type, materialItem);
+        for (var property : getUpgradeProperties(itemInfo)) {
+            if (!property.purchase(purchase)) {
+                shouldSellStack = false;
+            }
+            var applyEvent = new BedwarsApplyPropertyToItem(game, player, newItem.get(), property.copyData());
+            SBA.getPluginInstance().getServer().getPluginManager().callEvent(applyEvent);
+            newItem.set(applyEvent.getStack());
+        }
 
-        final var team = game.getTeamOfPlayer(player);
-        final var wrappedPlayer = PlayerMapper.wrapPlayer(player);
+        return Map.entry(shouldSellStack, false);
+    }
 
-        for (var property : itemInfo.getProperties()) {
-            if (property.hasName()) {
+    /**
+     * @return the named properties of the item, compiled on the first purchase of the item since the shops were loaded
+     */
+    private List<UpgradeProperty> getUpgradeProperties(PlayerItemInfo itemInfo) {
+        return compiledProperties.computeIfAbsent(itemInfo.getOriginal(), original -> {
+            final var properties = new ArrayList<UpgradeProperty>();
+            for (var property : itemInfo.getProperties()) {
+                if (!property.hasName()) {
+                    continue;
+                }
                 final var propertyName = property.getPropertyName().toLowerCase();
                 var converted = ConfigurateUtils.raw(property.getPropertyData());
 
@@ -129,199 +139,10 @@ public class SBAUpgradeStoreInventory extends AbstractStoreInventory {
 
                 // temporary fix
                 propertyData.putIfAbsent("name", propertyName);
-
-                if (upgradeProperties.contains(propertyName)) {
-                    switch (propertyName) {
-                        case "sharpness":
-                            var teamSharpnessLevel = gameStorage.getSharpnessLevel(team).orElseThrow();
-                            var maxSharpnessLevel = SBAConfig.getInstance().node("upgrades", "limit", "Sharpness")
-                                    .getInt(1);
-
-                            if (teamSharpnessLevel >= maxSharpnessLevel) {
-                                shouldSellStack = false;
-                                LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.GREATEST_ENCHANTMENT)
-                                        .send(wrappedPlayer);
-                            } else {
-                                teamSharpnessLevel = teamSharpnessLevel + 1;
-                                var ePrice = sharpnessPrices.get(teamSharpnessLevel);
-
-                                materialItem.set(ItemFactory.build(type.getStack(ePrice)).get());// . (ItemFactory. (
-                                                                                                 // type.getStack(ePrice)));
-
-                                if (player.getInventory().containsAtLeast(materialItem.get().as(ItemStack.class),
-                                        materialItem.get().getAmount())) {
-                                    gameStorage.setSharpnessLevel(team, teamSharpnessLevel);
-                                    Integer finalTeamSharpnessLevel = teamSharpnessLevel;
-                                    team.getConnectedPlayers().forEach(teamPlayer -> {
-                                        LanguageService
-                                                .getInstance()
-                                                .get(MessageKeys.UGPRADE_TEAM_SHARPNESS)
-                                                .replace("%player%", player.getName())
-                                                .send(PlayerMapper.wrapPlayer(teamPlayer));
-
-                                        Arrays.stream(teamPlayer.getInventory().getContents())
-                                                .filter(Objects::nonNull)
-                                                .forEach(item -> {
-                                                    if (item.getType().name().endsWith("SWORD")) {
-                                                        item.addEnchantment(Enchantment.DAMAGE_ALL,
-                                                                finalTeamSharpnessLevel);
-                                                    }
-                                                });
-                                    });
-                                } else
-                                    shouldSellStack = false;
-                            }
-                            break;
-
-                        case "efficiency":
-                            var efficiencyLevel = gameStorage.getEfficiencyLevel(team).orElseThrow();
-                            var maxEfficiencyLevel = SBAConfig.getInstance().node("upgrades", "limit", "Efficiency")
-                                    .getInt(2);
-
-                            if (efficiencyLevel >= maxEfficiencyLevel) {
-                                shouldSellStack = false;
-                                LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.GREATEST_ENCHANTMENT)
-                                        .send(wrappedPlayer);
-                            } else {
-                                efficiencyLevel = efficiencyLevel + 1;
-                                var ePrice = efficiencyPrices.get(efficiencyLevel);
-                                materialItem.set(ItemFactory.build(type.getStack(ePrice)).get());// . (ItemFactory. (
-                                                                                                 // type.getStack(ePrice)));
-
-                                if (player.getInventory().containsAtLeast(materialItem.get().as(ItemStack.class),
-                                        materialItem.get().getAmount())) {
-                                    gameStorage.setEfficiencyLevel(team, efficiencyLevel);
-                                    Integer finalTeamEfficiencyLevel = efficiencyLevel;
-                                    team.getConnectedPlayers().forEach(teamPlayer -> {
-                                        LanguageService
-                                                .getInstance()
-                                                .get(MessageKeys.UPGRADE_TEAM_EFFICIENCY)
-                                                .replace("%player%", player.getName())
-                                                .send(PlayerMapper.wrapPlayer(teamPlayer));
-
-                                        Arrays.stream(teamPlayer.getInventory().getContents())
-                                                .filter(Objects::nonNull)
-                                                .forEach(item -> {
-                                                    if (item.getType().name().endsWith("PICKAXE")) {
-                                                        item.addEnchantment(Enchantment.DIG_SPEED,
-                                                                finalTeamEfficiencyLevel);
-                                                    }
-                                                });
-                                    });
-                                } else
-                                    shouldSellStack = false;
-                            }
-                            break;
-                        case "blindtrap":
-                            if (gameStorage.areBlindTrapEnabled(team)) {
-                                shouldSellStack = false;
-                                LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.WAIT_FOR_TRAP)
-                                        .send(wrappedPlayer);
-                            } else {
-                                final var blindnessTrapTitle = LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.BLINDNESS_TRAP_PURCHASED_TITLE)
-                                        .toString();
-
-                                gameStorage.setPurchasedBlindTrap(team, true);
-                                team.getConnectedPlayers().forEach(pl -> SBAUtil.sendTitle(PlayerMapper.wrapPlayer(pl),
-                                        blindnessTrapTitle, "", 20, 40, 20));
-                            }
-                            break;
-
-                        case "minertrap":
-                            if (gameStorage.areMinerTrapEnabled(team)) {
-                                shouldSellStack = false;
-                                LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.WAIT_FOR_TRAP)
-                                        .send(wrappedPlayer);
-                            } else {
-                                final var minerTrapTitle = LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.MINER_TRAP_PURCHASED_TITLE)
-                                        .toString();
-
-                                gameStorage.setPurchasedMinerTrap(team, true);
-                                team.getConnectedPlayers().forEach(pl -> SBAUtil.sendTitle(PlayerMapper.wrapPlayer(pl),
-                                        minerTrapTitle, "", 20, 40, 20));
-                            }
-                            break;
-
-                        case "healpool":
-                            shouldSellStack = false;
-                            if (gameStorage.arePoolEnabled(team)) {
-                                LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.WAIT_FOR_TRAP)
-                                        .send(wrappedPlayer);
-                            } else {
-                                var purchaseHealPoolMessage = LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.PURCHASED_HEAL_POOL_MESSAGE)
-                                        .replace("%player%", player.getName())
-                                        .toComponent();
-
-                                gameStorage.setPurchasedPool(team, true);
-                                shouldSellStack = true;
-                                team.getConnectedPlayers().forEach(
-                                        pl -> PlayerMapper.wrapPlayer(pl).sendMessage(purchaseHealPoolMessage));
-                            }
-                            break;
-
-                        case "protection":
-                            var teamProtectionLevel = gameStorage.getProtectionLevel(team).orElseThrow();
-                            var maxProtectionLevel = SBAConfig.getInstance().node("upgrades", "limit", "Protection")
-                                    .getInt(4);
-
-                            if (teamProtectionLevel >= maxProtectionLevel) {
-                                shouldSellStack = false;
-                                LanguageService
-                                        .getInstance()
-                                        .get(MessageKeys.GREATEST_ENCHANTMENT)
-                                        .send(wrappedPlayer);
-                            } else {
-                                teamProtectionLevel = teamProtectionLevel + 1;
-                                var ePrice = protectionPrices.get(teamProtectionLevel);
-                                materialItem.set(ItemFactory.build(type.getStack(ePrice)).get());// . (ItemFactory. (
-                                                                                                 // type.getStack(ePrice)));
-
-                                if (player.getInventory().containsAtLeast(materialItem.get().as(ItemStack.class),
-                                        materialItem.get().getAmount())) {
-                                    gameStorage.setProtectionLevel(team, teamProtectionLevel);
-                                    ShopUtil.addEnchantsToPlayerArmor(player, teamProtectionLevel);
-
-                                    var upgradeMessage = LanguageService
-                                            .getInstance()
-                                            .get(MessageKeys.UPGRADE_TEAM_PROTECTION)
-                                            .replace("%player%", player.getName())
-                                            .toComponent();
-
-                                    final var finalTeamProtectionLevel = teamProtectionLevel;
-                                    team.getConnectedPlayers().forEach(teamPlayer -> {
-                                        ShopUtil.addEnchantsToPlayerArmor(teamPlayer, finalTeamProtectionLevel);
-                                        PlayerMapper.wrapPlayer(teamPlayer).sendMessage(upgradeMessage);
-                                    });
-                                } else
-                                    shouldSellStack = false;
-                            }
-                            break;
-                    }
-                }
-                var applyEvent = new BedwarsApplyPropertyToItem(game, player, newItem.get(), propertyData);
-                SBA.getPluginInstance().getServer().getPluginManager().callEvent(applyEvent);
-                newItem.set(applyEvent.getStack());
-
+                properties.add(UpgradeProperty.compile(propertyName, propertyData));
             }
-        }
-
-        return Map.entry(shouldSellStack, false);
+            return List.copyOf(properties);
+        });
     }
 
     @Override
@@ -368,10 +189,15 @@ public class SBAUpgradeStoreInventory extends AbstractStoreInventory {
                 .variableToProperty("currency-changer", "currencyChanger");
     }
 
+    @Override
+    protected boolean isShopOf(@NotNull GameStore store) {
+        final var shopFile = store.getShopFile();
+        return shopFile != null && shopFile.equalsIgnoreCase("upgradeShop.yml");
+    }
+
     @EventHandler
     public void onBedWarsOpenShop(BedwarsOpenShopEvent event) {
-        final var shopFile = event.getStore().getShopFile();
-        if ((shopFile != null && shopFile.equalsIgnoreCase("upgradeShop.yml"))) {
+        if (isShopOf((GameStore) event.getStore())) {
             if (SBAConfig.getInstance().node("shop", "upgrade-shop", "enabled").getBoolean()) {
                 event.setResult(BedwarsOpenShopEvent.Result.DISALLOW_UNKNOWN);
                 Logger.trace("Player: {} has opened upgrades store!", event.getPlayer().getName());
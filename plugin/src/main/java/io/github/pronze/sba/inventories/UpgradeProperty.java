@@ -0,0 +1,254 @@
+package io.github.pronze.sba.inventories;
+
+import io.github.pronze.sba.MessageKeys;
+import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.game.Arena;
+import io.github.pronze.sba.game.IGameStorage;
+import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.utils.SBAUtil;
+import io.github.pronze.sba.utils.ShopUtil;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.api.RunningTeam;
+import org.screamingsandals.bedwars.api.game.ItemSpawnerType;
+import org.screamingsandals.lib.item.Item;
+import org.screamingsandals.lib.item.builder.ItemFactory;
+import org.screamingsandals.lib.player.PlayerMapper;
+import org.screamingsandals.lib.player.PlayerWrapper;
+import org.screamingsandals.lib.tasker.Tasker;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * A property of an upgrade store item, compiled once per item with its limit and prices resolved.
+ */
+abstract class UpgradeProperty {
+    private final String name;
+    private final Map<String, Object> data;
+
+    private UpgradeProperty(String name, Map<String, Object> data) {
+        this.name = name;
+        // property values may be null
+        this.data = Collections.unmodifiableMap(new HashMap<>(data));
+    }
+
+    /**
+     * @return the compiled property, properties that are not team upgrades only carry their data
+     */
+    @NotNull
+    static UpgradeProperty compile(@NotNull String name, @NotNull Map<String, Object> data) {
+        switch (name) {
+            case "sharpness":
+                return new EnchantUpgrade(name, data, MessageKeys.UGPRADE_TEAM_SHARPNESS,
+                        SBAConfig.getInstance().node("upgrades", "limit", "Sharpness").getInt(1),
+                        SBAUpgradeStoreInventory.sharpnessPrices,
+                        IGameStorage::getSharpnessLevel, IGameStorage::setSharpnessLevel,
+                        (team, level) -> ShopUtil.applyTeamUpgradeEnchants(team, level, 0, 0));
+            case "efficiency":
+                return new EnchantUpgrade(name, data, MessageKeys.UPGRADE_TEAM_EFFICIENCY,
+                        SBAConfig.getInstance().node("upgrades", "limit", "Efficiency").getInt(2),
+                        SBAUpgradeStoreInventory.efficiencyPrices,
+                        IGameStorage::getEfficiencyLevel, IGameStorage::setEfficiencyLevel,
+                        (team, level) -> ShopUtil.applyTeamUpgradeEnchants(team, 0, level, 0));
+            case "protection":
+                return new EnchantUpgrade(name, data, MessageKeys.UPGRADE_TEAM_PROTECTION,
+                        SBAConfig.getInstance().node("upgrades", "limit", "Protection").getInt(4),
+                        SBAUpgradeStoreInventory.protectionPrices,
+                        IGameStorage::getProtectionLevel, IGameStorage::setProtectionLevel,
+                        (team, level) -> ShopUtil.applyTeamUpgradeEnchants(team, 0, 0, level));
+            case "blindtrap":
+                return new TrapUpgrade(name, data, MessageKeys.BLINDNESS_TRAP_PURCHASED_TITLE,
+                        IGameStorage::areBlindTrapEnabled, IGameStorage::setPurchasedBlindTrap);
+            case "minertrap":
+                return new TrapUpgrade(name, data, MessageKeys.MINER_TRAP_PURCHASED_TITLE,
+                        IGameStorage::areMinerTrapEnabled, IGameStorage::setPurchasedMinerTrap);
+            case "healpool":
+                return new HealPoolUpgrade(name, data);
+            default:
+                return new UpgradeProperty(name, data) {
+                };
+        }
+    }
+
+    @NotNull
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return a copy of the data of the property, listeners of the apply event are allowed to change it
+     */
+    @NotNull
+    Map<String, Object> copyData() {
+        return new HashMap<>(data);
+    }
+
+    /**
+     * Applies the upgrade to the team of the buyer.
+     *
+     * @return false if the purchase has to be refused
+     */
+    boolean purchase(@NotNull Purchase purchase) {
+        return true;
+    }
+
+    /**
+     * The state of a single purchase shared by the properties of the bought item.
+     */
+    @RequiredArgsConstructor
+    static class Purchase {
+        final Player player;
+        final RunningTeam team;
+        final Arena arena;
+        final ItemSpawnerType currency;
+        final AtomicReference<Item> price;
+
+        private PlayerWrapper wrappedPlayer;
+
+        PlayerWrapper getWrappedPlayer() {
+            if (wrappedPlayer == null) {
+                wrappedPlayer = PlayerMapper.wrapPlayer(player);
+            }
+            return wrappedPlayer;
+        }
+    }
+
+    @FunctionalInterface
+    private interface LevelSetter {
+        void set(IGameStorage storage, RunningTeam team, Integer level);
+    }
+
+    @FunctionalInterface
+    private interface EnabledGetter {
+        boolean isEnabled(IGameStorage storage, RunningTeam team);
+    }
+
+    @FunctionalInterface
+    private interface EnabledSetter {
+        void set(IGameStorage storage, RunningTeam team, boolean enabled);
+    }
+
+    private static class EnchantUpgrade extends UpgradeProperty {
+        private final String[] messageKey;
+        private final int maxLevel;
+        private final List<Integer> prices;
+        private final BiFunction<IGameStorage, RunningTeam, Optional<Integer>> levelGetter;
+        private final LevelSetter levelSetter;
+        private final BiConsumer<RunningTeam, Integer> enchanter;
+
+        private EnchantUpgrade(String name, Map<String, Object> data, String[] messageKey, int maxLevel,
+                               List<Integer> prices,
+                               BiFunction<IGameStorage, RunningTeam, Optional<Integer>> levelGetter,
+                               LevelSetter levelSetter, BiConsumer<RunningTeam, Integer> enchanter) {
+            super(name, data);
+            this.messageKey = messageKey;
+            this.maxLevel = maxLevel;
+            this.prices = prices;
+            this.levelGetter = levelGetter;
+            this.levelSetter = levelSetter;
+            this.enchanter = enchanter;
+        }
+
+        @Override
+        boolean purchase(@NotNull Purchase purchase) {
+            final int level = levelGetter.apply(purchase.arena.getStorage(), purchase.team).orElseThrow();
+            if (level >= maxLevel) {
+                LanguageService
+                        .getInstance()
+                        .get(MessageKeys.GREATEST_ENCHANTMENT)
+                        .send(purchase.getWrappedPlayer());
+                return false;
+            }
+
+            final var nextLevel = level + 1;
+            final var price = ItemFactory.build(purchase.currency.getStack(prices.get(nextLevel))).orElseThrow();
+            purchase.price.set(price);
+            if (!purchase.player.getInventory().containsAtLeast(price.as(ItemStack.class), price.getAmount())) {
+                return false;
+            }
+
+            levelSetter.set(purchase.arena.getStorage(), purchase.team, nextLevel);
+            enchanter.accept(purchase.team, nextLevel);
+
+            final var upgradeMessage = LanguageService
+                    .getInstance()
+                    .get(messageKey)
+                    .replace("%player%", purchase.player.getName())
+                    .toComponent();
+            purchase.team.getConnectedPlayers().forEach(teamPlayer -> PlayerMapper.wrapPlayer(teamPlayer).sendMessage(upgradeMessage));
+            return true;
+        }
+    }
+
+    private static class TrapUpgrade extends UpgradeProperty {
+        private final String[] titleKey;
+        private final EnabledGetter enabledGetter;
+        private final EnabledSetter enabledSetter;
+
+        private TrapUpgrade(String name, Map<String, Object> data, String[] titleKey, EnabledGetter enabledGetter,
+                            EnabledSetter enabledSetter) {
+            super(name, data);
+            this.titleKey = titleKey;
+            this.enabledGetter = enabledGetter;
+            this.enabledSetter = enabledSetter;
+        }
+
+        @Override
+        boolean purchase(@NotNull Purchase purchase) {
+            if (enabledGetter.isEnabled(purchase.arena.getStorage(), purchase.team)) {
+                LanguageService
+                        .getInstance()
+                        .get(MessageKeys.WAIT_FOR_TRAP)
+                        .send(purchase.getWrappedPlayer());
+                return false;
+            }
+
+            final var title = LanguageService
+                    .getInstance()
+                    .get(titleKey)
+                    .toString();
+            enabledSetter.set(purchase.arena.getStorage(), purchase.team, true);
+            // enemies already inside the base are checked once the purchase is done
+            Tasker.build(() -> purchase.arena.getBaseZoneEngine().notifyArmed(purchase.team)).afterOneTick().start();
+            purchase.team.getConnectedPlayers().forEach(teamPlayer -> SBAUtil.sendTitle(PlayerMapper.wrapPlayer(teamPlayer),
+                    title, "", 20, 40, 20));
+            return true;
+        }
+    }
+
+    private static class HealPoolUpgrade extends UpgradeProperty {
+
+        private HealPoolUpgrade(String name, Map<String, Object> data) {
+            super(name, data);
+        }
+
+        @Override
+        boolean purchase(@NotNull Purchase purchase) {
+            if (purchase.arena.getStorage().arePoolEnabled(purchase.team)) {
+                LanguageService
+                        .getInstance()
+                        .get(MessageKeys.WAIT_FOR_TRAP)
+                        .send(purchase.getWrappedPlayer());
+                return false;
+            }
+
+            final var purchaseHealPoolMessage = LanguageService
+                    .getInstance()
+                    .get(MessageKeys.PURCHASED_HEAL_POOL_MESSAGE)
+                    .replace("%player%", purchase.player.getName())
+                    .toComponent();
+            purchase.arena.getStorage().setPurchasedPool(purchase.team, true);
+            purchase.team.getConnectedPlayers().forEach(teamPlayer -> PlayerMapper.wrapPlayer(teamPlayer).sendMessage(purchaseHealPoolMessage));
+            return true;
+        }
+    }
+}
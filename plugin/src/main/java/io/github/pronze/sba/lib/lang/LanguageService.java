@@ -1,7 +1,9 @@
 package io.github.pronze.sba.lib.lang;
+import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.lang.ILanguageService;
 import io.github.pronze.sba.lang.Message;
+import io.github.pronze.sba.lang.MessageTemplate;
 import io.github.pronze.sba.utils.Logger;
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -20,10 +22,14 @@ import io.github.pronze.sba.config.SBAConfig;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.lang.reflect.Modifier;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Getter
@@ -65,6 +71,7 @@ public class LanguageService implements ILanguageService {
             Bukkit.getLogger().warning("There was an error loading language file!");
             ex.printStackTrace();
         }
+        compileTemplates();
     }
 
     @OnPostEnable
@@ -95,11 +102,35 @@ public class LanguageService implements ILanguageService {
             Bukkit.getLogger().warning("There was an error loading fallback language!");
             ex.printStackTrace();
         }
+        compileTemplates();
+    }
+
+    /**
+     * Compiles every entry of {@link MessageKeys} against the currently loaded language file.
+     * The constants are looked up by identity so hot paths passing them do not have to build a key.
+     */
+    private void compileTemplates() {
+        final var compiled = new IdentityHashMap<String[], MessageTemplate>();
+        for (var field : MessageKeys.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String[].class) {
+                continue;
+            }
+            try {
+                final var key = (String[]) field.get(null);
+                compiled.put(key, MessageTemplate.compile(getLines(false, key)));
+            } catch (Exception ex) {
+                Logger.warn("Could not compile message template: {}", field.getName());
+            }
+        }
+        templates = compiled;
+        customTemplates.clear();
     }
 
     private String locale;
     private ConfigurationNode configurationNode;
     private ConfigurationNode fallbackNode;
+    private volatile Map<String[], MessageTemplate> templates = Map.of();
+    private final Map<String, MessageTemplate> customTemplates = new ConcurrentHashMap<>();
 
     @Override
     @NotNull
@@ -107,7 +138,22 @@ public class LanguageService implements ILanguageService {
         return get(false, arguments);
     }
 
+    @Override
+    @NotNull
+    public MessageTemplate getTemplate(String... arguments) {
+        final var template = templates.get(arguments);
+        if (template != null) {
+            return template;
+        }
+        return customTemplates.computeIfAbsent(String.join(".", arguments),
+                k -> MessageTemplate.compile(getLines(false, arguments)));
+    }
+
     public Message get(boolean fallback, String... arguments) {
+        return Message.of(getLines(fallback, arguments));
+    }
+
+    private List<String> getLines(boolean fallback, String... arguments) {
         ConfigurationNode argumentNode = fallback ? fallbackNode.node((Object[]) arguments) :
                 configurationNode.node((Object[]) arguments);
 
@@ -116,9 +162,9 @@ public class LanguageService implements ILanguageService {
                 throw new UnsupportedOperationException("Could not find key for: " + Arrays.toString(arguments));
             }
             if (argumentNode.isList()) {
-                return Message.of(argumentNode.getList(String.class));
+                return argumentNode.getList(String.class);
             } else {
-                return Message.of(List.of(Objects.requireNonNull(argumentNode.getString())));
+                return List.of(Objects.requireNonNull(argumentNode.getString()));
             }
         } catch (SerializationException | UnsupportedOperationException e) {
             if (fallback) {
@@ -127,7 +173,7 @@ public class LanguageService implements ILanguageService {
         }
 
         if (!fallback)
-            return get(true, arguments);
-        return Message.of(List.of("TRANSLATION FOR: " + Arrays.toString(arguments) + " NOT FOUND!"));
+            return getLines(true, arguments);
+        return List.of("TRANSLATION FOR: " + Arrays.toString(arguments) + " NOT FOUND!");
     }
 }
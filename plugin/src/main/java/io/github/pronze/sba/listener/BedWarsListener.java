@@ -4,17 +4,22 @@ import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.config.SBAConfig;
 import io.github.pronze.sba.events.SBAFinalKillEvent;
 import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.service.StatisticsPreloadService;
 import io.github.pronze.sba.utils.Logger;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
+import org.bukkit.Location;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
@@ -31,6 +36,7 @@ import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
 import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.game.Arena;
 import io.github.pronze.sba.game.ArenaManager;
+import io.github.pronze.sba.game.BaseProximityIndex;
 import io.github.pronze.sba.utils.SBAUtil;
 import io.github.pronze.sba.utils.ShopUtil;
 import io.github.pronze.lib.pronzelib.scoreboards.Scoreboard;
@@ -155,8 +161,10 @@ public class BedWarsListener implements Listener {
                     if (Main.getInstance().isPlayerPlayingAnyGame(player)) {
 
                         party.getMembers()
-                                .stream().filter(member -> !wrappedPlayer.equals(member))
                                 .forEach(member -> {
+                                    if (wrappedPlayer.equals(member)) {
+                                        return;
+                                    }
                                     final var memberGame = Main.getInstance().getGameOfPlayer(member.getInstance());
 
                                     Bukkit.getScheduler().runTask(SBA.getPluginInstance(), () -> {
@@ -174,9 +182,10 @@ public class BedWarsListener implements Listener {
                     } else {
                         final var leaderLocation = wrappedPlayer.getInstance().getLocation();
                         party.getMembers()
-                                .stream()
-                                .filter(member -> !member.equals(player))
                                 .forEach(member -> {
+                                    if (wrappedPlayer.equals(member)) {
+                                        return;
+                                    }
                                     if (Main.getInstance().isPlayerPlayingAnyGame(member.getInstance())) {
                                         Main.getInstance().getGameOfPlayer(member.getInstance())
                                                 .leaveFromGame(member.getInstance());
@@ -240,6 +249,8 @@ public class BedWarsListener implements Listener {
                 ((Arena) arena).getRotatingGenerators().forEach(generator -> {
                     generator.addViewer(player);
                 });
+                ((Arena) arena).getBaseProximityIndex().update(player, player.getLocation());
+                ArenaManager.getInstance().getGamePlayerIndex().add((Arena) arena, player);
                 break;
         }
     }
@@ -268,6 +279,17 @@ public class BedWarsListener implements Listener {
                 .fromCache(player.getUniqueId())
                 .ifPresent(Scoreboard::destroy);
         player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+
+        // the score of the game is added to the statistics of the player once it leaves
+        SBA.getInstance()
+                .getPlayerWrapperService()
+                .get(player)
+                .ifPresent(SBAPlayerWrapper::invalidateProgression);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStatisticSaved(BedwarsSavePlayerStatisticEvent e) {
+        StatisticsPreloadService.getInstance().refresh(e.getStatistic());
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
@@ -285,10 +307,44 @@ public class BedWarsListener implements Listener {
                     .get(game.getName())
                     .ifPresent(arena -> {
                         arena.addVisualsForPlayer(victim);
+                        ((Arena) arena).getBaseProximityIndex().update(victim, victim.getLocation());
+                        ArenaManager.getInstance().getGamePlayerIndex().add((Arena) arena, victim);
                     });
         }).afterOneTick().start();
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent e) {
+        final var to = e.getTo();
+        if (to == null || BaseProximityIndex.isSameCell(e.getFrom(), to)) {
+            return;
+        }
+        updateBaseProximity(e.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent e) {
+        final var to = e.getTo();
+        if (to == null || BaseProximityIndex.isSameCell(e.getFrom(), to)) {
+            return;
+        }
+        updateBaseProximity(e.getPlayer(), to);
+    }
+
+    private void updateBaseProximity(Player player, Location to) {
+        if (!Main.getInstance().isPlayerPlayingAnyGame(player)) {
+            return;
+        }
+        final var game = Main.getInstance().getGameOfPlayer(player);
+        if (game.getStatus() != GameStatus.RUNNING) {
+            return;
+        }
+        ArenaManager
+                .getInstance()
+                .get(game.getName())
+                .ifPresent(arena -> ((Arena) arena).getBaseProximityIndex().update(player, to));
+    }
+
     @EventHandler(priority = EventPriority.MONITOR)
     public void onBedwarsPlayerPlay(PlayerGameModeChangeEvent e) {
         final var player = e.getPlayer();
@@ -310,6 +366,11 @@ public class BedWarsListener implements Listener {
         Tasker.build(() -> {
             final var game = Main.getInstance().getGameOfPlayer(player);
             ShopUtil.applyTeamUpgrades(player, game); 
+            // players rejoining a running game start playing here
+            ArenaManager
+                    .getInstance()
+                    .get(game.getName())
+                    .ifPresent(arena -> ArenaManager.getInstance().getGamePlayerIndex().add((Arena) arena, player));
         }).delay(2, TaskerTime.TICKS).start();
 
     }
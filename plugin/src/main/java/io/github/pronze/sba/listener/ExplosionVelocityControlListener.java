@@ -35,7 +35,7 @@ public class ExplosionVelocityControlListener implements Listener {
             if (entity instanceof Player) {
                 final var player = (Player) entity;
                 if (explosionAffectedPlayers.contains(player)) {
-                    event.setDamage(SBAConfig.getInstance().node("tnt-fireball-jumping", "fall-damage").getDouble(3.0D));
+                    event.setDamage(SBAConfig.getInstance().getSnapshot().getFallDamage());
                     explosionAffectedPlayers.remove(player);
                 }
             }
@@ -47,7 +47,8 @@ public class ExplosionVelocityControlListener implements Listener {
         final var explodedEntity = event.getDamager();
 
         if (explodedEntity instanceof Explosive) {
-            final var detectionDistance = SBAConfig.getInstance().node("tnt-fireball-jumping", "detection-distance").getDouble(5.0D);
+            final var config = SBAConfig.getInstance().getSnapshot();
+            final var detectionDistance = config.getDetectionDistance();
 
             explodedEntity.getWorld().getNearbyEntities(explodedEntity.getLocation(), detectionDistance, detectionDistance, detectionDistance)
                     .stream()
@@ -56,11 +57,11 @@ public class ExplosionVelocityControlListener implements Listener {
                         Vector vector = explodedEntity
                                 .getLocation()
                                 .clone()
-                                .add(0, SBAConfig.getInstance().node("tnt-fireball-jumping", "acceleration-y").getDouble(1.0) ,0)
+                                .add(0, config.getAccelerationY(), 0)
                                 .toVector()
                                 .subtract(explodedEntity.getLocation().toVector()).normalize();
-                        vector.setY(vector.getY() /  SBAConfig.getInstance().node("tnt-fireball-jumping", "reduce-y").getDouble(2.0));
-                        vector.multiply(SBAConfig.getInstance().node("tnt-fireball-jumping", "launch-multiplier").getDouble(4.0));
+                        vector.setY(vector.getY() / config.getReduceY());
+                        vector.multiply(config.getLaunchMultiplier());
 
                         if (entity instanceof Player) {
                             final var player = (Player) entity;
@@ -41,33 +41,26 @@ public class GameChatListener implements Listener {
             final var game = Main.getInstance().getGameOfPlayer(player);
 
             if (game.getStatus() == GameStatus.RUNNING) {
-                if (SBAConfig.getInstance().node("chat-format", "game-chat", "enabled").getBoolean(true)) {
+                final var config = SBAConfig.getInstance().getSnapshot();
+                if (config.isGameChatEnabled()) {
                     event.setCancelled(true);
 
                     final var bedwarsPlayer = Main.getPlayerGameProfile(player);
 
                     String format;
-                    final var allChatPrefix = SBAConfig
-                            .getInstance()
-                            .node("chat-format", "game-chat", "all-chat-prefix").getString();
+                    final var allChatPrefix = config.getAllChatPrefix();
 
                     boolean all = false;
                     boolean spectator = false;
                     if (bedwarsPlayer.isSpectator) {
-                        format = SBAConfig
-                                .getInstance()
-                                .node("chat-format", "game-chat", "format-spectator").getString();
+                        format = config.getGameChatSpectatorFormat();
                         spectator = true;
                     } else {
                         if (event.getMessage().startsWith(allChatPrefix)) {
-                            format = SBAConfig
-                                    .getInstance()
-                                    .node("chat-format", "game-chat", "all-chat-format").getString();
+                            format = config.getAllChatFormat();
                             all = true;
                         } else {
-                            format = SBAConfig
-                                    .getInstance()
-                                    .node("chat-format", "game-chat", "format").getString();
+                            format = config.getGameChatFormat();
                         }
 
                         var colorName = game.getTeamOfPlayer(player).getColor().name().toUpperCase();
@@ -116,12 +109,10 @@ public class GameChatListener implements Listener {
                     }
                 }
             } else if (game.getStatus() == GameStatus.WAITING) {
-                if (SBAConfig.getInstance().node("chat-format", "lobby-chat", "enabled").getBoolean()) {
+                final var config = SBAConfig.getInstance().getSnapshot();
+                if (config.isLobbyChatEnabled()) {
                     event.setCancelled(true);
-                    var lobbyChatFormat = SBAConfig
-                            .getInstance()
-                            .node("chat-format", "lobby-chat", "format")
-                            .getString();
+                    var lobbyChatFormat = config.getLobbyChatFormat();
 
                     var team = game.getTeamOfPlayer(player);
                     var teamColor = team != null ? TeamColor.fromApiColor(team.getColor()).chatColor.toString() : null;
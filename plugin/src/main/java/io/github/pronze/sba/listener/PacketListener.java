@@ -1,108 +1,161 @@
 package io.github.pronze.sba.listener;
 
+import io.github.pronze.sba.game.GamePlayerIndex;
+import io.github.pronze.sba.utils.Logger;
 import org.bukkit.entity.Player;
-import org.screamingsandals.bedwars.Main;
+import org.jetbrains.annotations.Nullable;
 import org.screamingsandals.lib.event.OnEvent;
 import org.screamingsandals.lib.nms.accessors.ClientboundSetEquipmentPacketAccessor;
 import org.screamingsandals.lib.nms.accessors.ClientboundUpdateMobEffectPacketAccessor;
 import org.screamingsandals.lib.packet.event.SPacketEvent;
+import org.screamingsandals.lib.plugin.ServiceManager;
 import org.screamingsandals.lib.utils.PacketMethod;
 import org.screamingsandals.lib.utils.annotations.Service;
-import org.screamingsandals.lib.utils.reflect.Reflect;
+import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
 import io.github.pronze.sba.game.ArenaManager;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hides the potion effects and the equipment of invisible players from their enemies.
+ * The handlers run on the netty threads for every outbound packet, the players are looked up through the
+ * {@link GamePlayerIndex} and the entity id of the packets is read through cached method handles.
+ * While no player of any arena is hidden, both handlers return before looking at the packet.
+ */
 @Service
 public class PacketListener {
 
+    public static PacketListener getInstance() {
+        return ServiceManager.get(PacketListener.class);
+    }
+
+    private final LongAdder inspectedPackets = new LongAdder();
+    private final LongAdder cancelledPackets = new LongAdder();
+    private GamePlayerIndex index;
+    private Class<?> effectPacketType;
+    private Class<?> equipmentPacketType;
+    private MethodHandle effectEntityId;
+    private MethodHandle equipmentEntityId;
+
+    @OnPostEnable
+    public void onPostEnable() {
+        index = ArenaManager.getInstance().getGamePlayerIndex();
+        try {
+            effectPacketType = ClientboundUpdateMobEffectPacketAccessor.getType();
+            equipmentPacketType = ClientboundSetEquipmentPacketAccessor.getType();
+            effectEntityId = toIntGetter(ClientboundUpdateMobEffectPacketAccessor.getFieldEntityId());
+            equipmentEntityId = toIntGetter(ClientboundSetEquipmentPacketAccessor.getFieldEntity());
+        } catch (Throwable t) {
+            Logger.error("Could not resolve the packet fields, invisible players will show their equipment!");
+            t.printStackTrace();
+            effectPacketType = null;
+            equipmentPacketType = null;
+        }
+    }
+
+    private static MethodHandle toIntGetter(Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+        return MethodHandles
+                .lookup()
+                .unreflectGetter(field)
+                .asType(MethodType.methodType(int.class, Object.class));
+    }
+
     @OnEvent
     public void onEffects(SPacketEvent event) {
-        if (event.getMethod() != PacketMethod.OUTBOUND) {
+        if (effectPacketType == null || !index.hasHiddenPlayers() || event.getMethod() != PacketMethod.OUTBOUND) {
             return;
         }
 
-        final var player = event.getPlayer().as(Player.class);
         final var packet = event.getPacket();
+        if (!effectPacketType.isInstance(packet)) {
+            return;
+        }
 
-        if (ClientboundUpdateMobEffectPacketAccessor.getType().isInstance(packet)) {
-            final var entityId = (int) Reflect.getField(packet, ClientboundUpdateMobEffectPacketAccessor.getFieldEntityId());
-            final var playerGame = Main.getInstance().getGameOfPlayer(player);
-            if (playerGame == null) {
-                return;
-            }
-
-            Player equipper = null;
-            for (var gamePlayer : playerGame.getConnectedPlayers()) {
-                if (gamePlayer.getEntityId() == entityId) {
-                    equipper = gamePlayer;
-                    break;
-                }
-            }
-
-            if (equipper == null) {
-                return;
-            }
-
-            final var maybeArena = ArenaManager
-                    .getInstance()
-                    .get(playerGame.getName());
-
-            if (maybeArena.isEmpty()) {
-                return;
-            }
-
-            final var arena = maybeArena.get();
-            if (arena.isPlayerHidden(equipper) && playerGame.getTeamOfPlayer(equipper) != playerGame.getTeamOfPlayer(player)) {
-                event.setCancelled(true);
-            }
+        inspectedPackets.increment();
+        final var equipper = getHiddenEnemy(event, readEntityId(effectEntityId, packet));
+        if (equipper != null) {
+            cancelledPackets.increment();
+            event.setCancelled(true);
         }
     }
 
     @OnEvent
     public void onEquipped(SPacketEvent event) {
-        if (event.getMethod() != PacketMethod.OUTBOUND) {
+        if (equipmentPacketType == null || !index.hasHiddenPlayers() || event.getMethod() != PacketMethod.OUTBOUND) {
             return;
         }
 
-        final var player = event.getPlayer().as(Player.class);
         final var packet = event.getPacket();
+        if (!equipmentPacketType.isInstance(packet)) {
+            return;
+        }
+
+        inspectedPackets.increment();
+        final var equipper = getHiddenEnemy(event, readEntityId(equipmentEntityId, packet));
+        if (equipper == null) {
+            return;
+        }
+
+        final var hiddenEquipper = equipper.getArena().getHiddenPlayer(equipper.getPlayer().getUniqueId()).orElse(null);
+        if (hiddenEquipper == null) {
+            return;
+        }
+        if (hiddenEquipper.isJustEquipped()) {
+            hiddenEquipper.setJustEquipped(false);
+            return;
+        }
+        cancelledPackets.increment();
+        event.setCancelled(true);
+    }
+
+    /**
+     * @return the amount of effect and equipment packets inspected while a player was hidden
+     */
+    public long getInspectedPackets() {
+        return inspectedPackets.sum();
+    }
+
+    /**
+     * @return the amount of packets cancelled to hide the equipment or effects of a player
+     */
+    public long getCancelledPackets() {
+        return cancelledPackets.sum();
+    }
+
+    private static int readEntityId(MethodHandle getter, Object packet) {
+        try {
+            return (int) getter.invokeExact(packet);
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the entry of the hidden player the packet is about, if the receiver of the packet is one of its enemies
+     */
+    @Nullable
+    private GamePlayerIndex.Entry getHiddenEnemy(SPacketEvent event, int entityId) {
+        final var equipper = index.get(entityId);
+        if (equipper == null || !equipper.isHidden()) {
+            return null;
+        }
+
+        final var arena = equipper.getArena();
+        final var player = event.getPlayer().as(Player.class);
+        final var viewer = index.get(player.getEntityId());
+        if (viewer == null || viewer.getArena() != arena) {
+            return null;
+        }
 
-        if (ClientboundSetEquipmentPacketAccessor.getType().isInstance(packet)) {
-            final var entityId = (int) Reflect.getField(packet, ClientboundSetEquipmentPacketAccessor.getFieldEntity());
-
-            Player equipper = null;
-            final var playerGame = Main.getInstance().getGameOfPlayer(player);
-            if (playerGame == null) {
-                return;
-            }
-
-            for (var gamePlayer : playerGame.getConnectedPlayers()) {
-                if (gamePlayer.getEntityId() == entityId) {
-                    equipper = gamePlayer;
-                    break;
-                }
-            }
-
-            if (equipper == null) {
-                return;
-            }
-
-            final var maybeArena = ArenaManager
-                    .getInstance()
-                    .get(playerGame.getName());
-
-            if (maybeArena.isEmpty()) {
-                return;
-            }
-
-            final var arena = maybeArena.get();
-            if (arena.isPlayerHidden(equipper) && playerGame.getTeamOfPlayer(equipper) != playerGame.getTeamOfPlayer(player)) {
-                final var hiddenEquipper = arena.getHiddenPlayer(equipper.getUniqueId()).orElseThrow();
-                if (hiddenEquipper.isJustEquipped()) {
-                    hiddenEquipper.setJustEquipped(false);
-                    return;
-                }
-                event.setCancelled(true);
-            }
+        final var game = arena.getGame();
+        if (game.getTeamOfPlayer(equipper.getPlayer()) == game.getTeamOfPlayer(player)) {
+            return null;
         }
+        return equipper;
     }
 }
@@ -5,8 +5,11 @@ import io.github.pronze.sba.Permissions;
 import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.config.SBAConfig;
 import io.github.pronze.sba.data.DegradableItem;
+import io.github.pronze.sba.game.Arena;
 import io.github.pronze.sba.game.ArenaManager;
 import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.service.TimeoutHandle;
+import io.github.pronze.sba.service.TimeoutService;
 import io.github.pronze.sba.utils.SBAUtil;
 import io.github.pronze.sba.utils.ShopUtil;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
@@ -19,6 +22,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityPotionEffectEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryType;
@@ -29,11 +33,12 @@ import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.potion.PotionType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.screamingsandals.bedwars.Main;
 import org.screamingsandals.bedwars.api.game.GameStatus;
 import org.screamingsandals.bedwars.game.GamePlayer;
+import org.screamingsandals.lib.bukkit.utils.nms.Version;
 import org.screamingsandals.lib.player.PlayerMapper;
+import org.screamingsandals.lib.tasker.Tasker;
 import org.screamingsandals.lib.utils.annotations.Service;
 import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
 import io.github.pronze.lib.pronzelib.scoreboards.Scoreboard;
@@ -42,15 +47,22 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 @Service
 public class PlayerListener implements Listener {
     private final List<Material> allowedDropItems = new ArrayList<>();
     private final List<Material> generatorDropItems = new ArrayList<>();
+    private boolean potionEffectEventSupported;
 
     @OnPostEnable
     public void registerListener() {
         SBA.getInstance().registerListener(this);
+        // EntityPotionEffectEvent only exists since 1.13
+        if (!potionEffectEventSupported && Version.isVersion(1, 13)) {
+            SBA.getInstance().registerListener(new PotionEffectListener());
+            potionEffectEventSupported = true;
+        }
         allowedDropItems.clear();
         generatorDropItems.clear();
         allowedDropItems.addAll(SBAUtil.parseMaterialFromConfig("allowed-item-drops"));
@@ -74,6 +86,7 @@ public class PlayerListener implements Listener {
                 .getInstance()
                 .get(game.getName())
                 .orElseThrow();
+        arena.removeHiddenPlayer(player);
 
         final var itemArr = new ArrayList<ItemStack>();
         final var sword = Main.isLegacy() ? new ItemStack(Material.valueOf("WOOD_SWORD"))
@@ -110,7 +123,7 @@ public class PlayerListener implements Listener {
         itemArr.add(sword);
         arena.getPlayerData(player.getUniqueId()).ifPresent(playerData -> playerData.setInventory(itemArr));
 
-        if (SBAConfig.getInstance().getBoolean("give-killer-resources", true)) {
+        if (SBAConfig.getInstance().getSnapshot().isGiveKillerResources()) {
             final var killer = e.getEntity().getKiller();
 
             if (killer != null && Main.getInstance().isPlayerPlayingAnyGame(killer)
@@ -130,11 +143,11 @@ public class PlayerListener implements Listener {
         final var gVictim = Main.getPlayerGameProfile(player);
         final var victimTeam = game.getTeamOfPlayer(player);
 
-        if (SBAConfig.getInstance().getBoolean("respawn-cooldown.enabled", true) &&
+        if (SBAConfig.getInstance().getSnapshot().isRespawnCooldownEnabled() &&
                 victimTeam.isAlive() && game.isPlayerInAnyTeam(player) &&
                 game.getTeamOfPlayer(player).isTargetBlockExists()) {
 
-            new BukkitRunnable() {
+            TimeoutService.getInstance().repeat(0L, 20L, new Consumer<TimeoutHandle>() {
                 final GamePlayer gamePlayer = gVictim;
                 final Player player = gamePlayer.player;
                 final String respawnTitle = LanguageService
@@ -146,13 +159,13 @@ public class PlayerListener implements Listener {
                         .get(MessageKeys.RESPAWN_COUNTDOWN_SUBTITLE)
                         .toString();
                 final SBAPlayerWrapper wrappedPlayer = PlayerMapper.wrapPlayer(player).as(SBAPlayerWrapper.class);
-                int livingTime = SBAConfig.getInstance().getInt("respawn-cooldown.time", 5);
+                int livingTime = SBAConfig.getInstance().getSnapshot().getRespawnCooldownTime();
                 byte buffer = 2;
 
                 @Override
-                public void run() {
+                public void accept(TimeoutHandle countdown) {
                     if (!Main.isPlayerInGame(player)) {
-                        this.cancel();
+                        countdown.cancel();
                         return;
                     }
 
@@ -190,11 +203,11 @@ public class PlayerListener implements Listener {
                                     Main.getInstance().getGameByName(game.getName()).getTeamOfPlayer(player)
                                             .getColor());
                             ShopUtil.applyTeamUpgrades(player, game);
-                            this.cancel();
+                            countdown.cancel();
                         }
                     }
                 }
-            }.runTaskTimer(SBA.getPluginInstance(), 0L, 20L);
+            });
         }
     }
 
@@ -211,7 +224,7 @@ public class PlayerListener implements Listener {
         if (!Main.isPlayerInGame(player))
             return;
 
-        if (SBAConfig.getInstance().getBoolean("disable-armor-inventory-movement", true) &&
+        if (SBAConfig.getInstance().getSnapshot().isDisableArmorInventoryMovement() &&
                 event.getSlotType() == SlotType.ARMOR)
             event.setCancelled(true);
 
@@ -224,7 +237,7 @@ public class PlayerListener implements Listener {
             return;
 
         if (clickedInventory.equals(bottomSlot)
-                && SBAConfig.getInstance().getBoolean("block-players-putting-certain-items-onto-chest", true)
+                && SBAConfig.getInstance().getSnapshot().isBlockPuttingItemsOntoChest()
                 && (topSlot.getType() == InventoryType.CHEST || topSlot.getType() == InventoryType.ENDER_CHEST)
                 && bottomSlot.getType() == InventoryType.PLAYER) {
             if (typeName.endsWith("AXE") || typeName.endsWith("SWORD")) {
@@ -243,7 +256,7 @@ public class PlayerListener implements Listener {
 
         if (!Main.isPlayerInGame(player))
             return;
-        if (!SBAConfig.getInstance().getBoolean("block-item-drops", true))
+        if (!SBAConfig.getInstance().getSnapshot().isBlockItemDrops())
             return;
 
         final var ItemDrop = evt.getItemDrop().getItemStack();
@@ -261,7 +274,7 @@ public class PlayerListener implements Listener {
             return;
         }
 
-        if (SBAConfig.getInstance().node("disable-item-damage").getBoolean(true)) {
+        if (SBAConfig.getInstance().getSnapshot().isDisableItemDamage()) {
             event.setCancelled(true);
         }
     }
@@ -328,7 +341,7 @@ public class PlayerListener implements Listener {
                         .ifPresent(arena -> arena.removeHiddenPlayer(player));
 
                 if (event.getCause() == EntityDamageEvent.DamageCause.ENTITY_EXPLOSION) {
-                    event.setDamage(SBAConfig.getInstance().node("explosion-damage").getDouble(1.0D));
+                    event.setDamage(SBAConfig.getInstance().getSnapshot().getExplosionDamage());
                 }
             }
         }
@@ -342,30 +355,32 @@ public class PlayerListener implements Listener {
         if (!Main.isPlayerInGame(player))
             return;
 
-        if (item.getType() == Material.POTION) {
-            final var potionMeta = (PotionMeta) item.getItemMeta();
-            boolean isInvis = false;
-            if (potionMeta.getBasePotionData().getType() == PotionType.INVISIBILITY) {
-                isInvis = true;
-            } else {
-                if (potionMeta.hasCustomEffects()) {
-                    isInvis = potionMeta
-                            .getCustomEffects()
-                            .stream()
-                            .anyMatch(potionEffect -> potionEffect.getType().getName()
-                                    .equalsIgnoreCase(PotionEffectType.INVISIBILITY.getName()));
-                }
-            }
+        if (item.getType() != Material.POTION) {
+            return;
+        }
+        event.setReplacement(new ItemStack(Material.AIR));
 
-            if (isInvis) {
-                final var playerGame = Main.getInstance().getGameOfPlayer(player);
-                ArenaManager
-                        .getInstance()
-                        .get(playerGame.getName())
-                        .ifPresent(arena -> arena.addHiddenPlayer(player));
-            }
+        // newer servers track the invisibility from the effect itself, see PotionEffectListener
+        if (potionEffectEventSupported) {
+            return;
+        }
 
-            event.setReplacement(new ItemStack(Material.AIR));
+        final var potionMeta = (PotionMeta) item.getItemMeta();
+        boolean isInvis = false;
+        if (potionMeta.getBasePotionData().getType() == PotionType.INVISIBILITY) {
+            isInvis = true;
+        } else if (potionMeta.hasCustomEffects()) {
+            isInvis = potionMeta.getCustomEffects().stream()
+                    .anyMatch(potionEffect -> potionEffect.getType().getName().equalsIgnoreCase(PotionEffectType.INVISIBILITY.getName()));
+        }
+
+        if (isInvis) {
+            final var playerGame = Main.getInstance().getGameOfPlayer(player);
+            // the effect is applied after the event, its duration is read a tick later
+            Tasker.build(() -> ArenaManager
+                    .getInstance()
+                    .get(playerGame.getName())
+                    .ifPresent(arena -> arena.addHiddenPlayer(player))).afterOneTick().start();
         }
     }
 
@@ -404,4 +419,40 @@ public class PlayerListener implements Listener {
         }
     }
 
+    private static class PotionEffectListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onPotionEffect(EntityPotionEffectEvent event) {
+            if (!(event.getEntity() instanceof Player)
+                    || event.getModifiedType() != PotionEffectType.INVISIBILITY) {
+                return;
+            }
+
+            final var player = (Player) event.getEntity();
+            if (!Main.isPlayerInGame(player)) {
+                return;
+            }
+
+            final var game = Main.getInstance().getGameOfPlayer(player);
+            if (game.getStatus() != GameStatus.RUNNING) {
+                return;
+            }
+
+            ArenaManager
+                    .getInstance()
+                    .get(game.getName())
+                    .ifPresent(arena -> {
+                        switch (event.getAction()) {
+                            case ADDED:
+                            case CHANGED:
+                                ((Arena) arena).addHiddenPlayer(player, event.getNewEffect().getDuration());
+                                break;
+                            case REMOVED:
+                            case CLEARED:
+                                // the effect is removed by the server, it must not be removed again from here
+                                ((Arena) arena).removeHiddenPlayer(player, false);
+                                break;
+                        }
+                    });
+        }
+    }
 }
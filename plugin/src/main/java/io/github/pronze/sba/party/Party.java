@@ -1,7 +1,6 @@
 package io.github.pronze.sba.party;
 import io.github.pronze.sba.wrapper.PlayerSetting;
 import net.kyori.adventure.text.Component;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import org.screamingsandals.lib.player.PlayerMapper;
 import org.screamingsandals.lib.utils.AdventureHelper;
@@ -10,26 +9,37 @@ import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.data.PartyInviteData;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.service.TimeoutService;
 import io.github.pronze.sba.utils.Logger;
-import io.github.pronze.sba.utils.SBAUtil;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+/**
+ * Members and invited players are kept in copy on write lists, parties are mostly read from the party chat
+ * which runs on async threads, and only changed by commands and events.
+ * The lists are exposed as unmodifiable views, iterating them walks a snapshot without copying it.
+ */
 public class Party implements IParty {
     @NotNull
-    private SBAPlayerWrapper leader;
+    private volatile SBAPlayerWrapper leader;
     private final UUID uuid;
-    private final List<SBAPlayerWrapper> members;
-    private final List<SBAPlayerWrapper> invitedPlayers;
+    private final CopyOnWriteArrayList<SBAPlayerWrapper> members;
+    private final CopyOnWriteArrayList<SBAPlayerWrapper> invitedPlayers;
+    private final List<SBAPlayerWrapper> membersView;
+    private final List<SBAPlayerWrapper> invitedPlayersView;
     private final Map<UUID, PartyInviteData> inviteDataMap;
     private final PartySetting settings;
 
     public Party(@NotNull SBAPlayerWrapper leader) {
         this.leader = leader;
         this.uuid = UUID.randomUUID();
-        this.members = new ArrayList<>();
-        this.invitedPlayers = new ArrayList<>();
-        this.inviteDataMap = new HashMap<>();
+        this.members = new CopyOnWriteArrayList<>();
+        this.invitedPlayers = new CopyOnWriteArrayList<>();
+        this.membersView = Collections.unmodifiableList(members);
+        this.invitedPlayersView = Collections.unmodifiableList(invitedPlayers);
+        this.inviteDataMap = new ConcurrentHashMap<>();
         this.settings = new PartySetting();
 
         leader.getSettings().enable(PlayerSetting.IN_PARTY);
@@ -39,12 +49,12 @@ public class Party implements IParty {
 
     @Override
     public List<SBAPlayerWrapper> getMembers() {
-        return List.copyOf(members);
+        return membersView;
     }
 
     @Override
     public List<SBAPlayerWrapper> getInvitedPlayers() {
-        return List.copyOf(invitedPlayers);
+        return invitedPlayersView;
     }
 
     @Override
@@ -67,22 +77,25 @@ public class Party implements IParty {
     public void addPlayer(@NotNull SBAPlayerWrapper player) {
         Logger.trace("Adding player: {} to party: {}", player.getName(), debugInfo());
         invitedPlayers.remove(player);
-        members.add(player);
+        members.addIfAbsent(player);
+        PartyManager.getInstance().indexMember(player, this);
         //leader.getSettings().disable(PlayerSetting.IN_PARTY);
         if (inviteDataMap.containsKey(player.getInstance().getUniqueId())) {
             final var inviteData = inviteDataMap.get(player.getInstance().getUniqueId());
             if (inviteData != null) {
-                SBAUtil.cancelTask(inviteData.getInviteTask());
+                inviteData.getInviteTask().cancel();
                 player.getSettings().disable(PlayerSetting.INVITED_TO_PARTY);
                 inviteDataMap.remove(player.getInstance().getUniqueId());
             }
         }
+        PartyManager.getInstance().unindexInvitee(player, this);
     }
 
     @Override
     public void removePlayer(@NotNull SBAPlayerWrapper player) {
         Logger.trace("Removing player: {} from party: {}", player.getName(), debugInfo());
         members.remove(player);
+        PartyManager.getInstance().unindexMember(player, this);
         player.getSettings().disable(PlayerSetting.IN_PARTY);
     }
 
@@ -101,8 +114,8 @@ public class Party implements IParty {
                 leader.getName(), player.getName(), debugInfo());
         leader = player;
         //leader.getSettings().disable(PlayerSetting.IN_PARTY);
-        if (!members.contains(leader)) {
-            members.add(leader);
+        if (members.addIfAbsent(leader)) {
+            PartyManager.getInstance().indexMember(leader, this);
         }
     }
 
@@ -117,36 +130,34 @@ public class Party implements IParty {
         if (inviteDataMap.containsKey(invitee.getInstance().getUniqueId())) return;
         Logger.trace("Player: {} has invited: {} to party: {}", player.getName(),
                 invitee.getName(), debugInfo());
-        invitedPlayers.add(invitee);
+        invitedPlayers.addIfAbsent(invitee);
         invitee.getSettings().enable(PlayerSetting.INVITED_TO_PARTY);
 
-        final var inviteTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                Logger.trace("IParty invitation expired for: {} of party: {}", invitee.getName(), debugInfo());
-                invitee.getSettings().disable(PlayerSetting.INVITED_TO_PARTY);
-                inviteDataMap.remove(invitee.getInstance().getUniqueId());
-                if (shouldDisband()) {
-                    SBA.getInstance()
-                            .getPartyManager()
-                            .disband(uuid);
-                    Logger.trace("Disbanding party: {}", uuid);
-                }
-                if (getPartyLeader().isOnline()) {
-                    LanguageService
-                            .getInstance()
-                            .get(MessageKeys.PARTY_MESSAGE_INVITE_EXPIRED)
-                            .send(getPartyLeader());
-                }
+        final var inviteTask = TimeoutService.getInstance().schedule(20L * SBA
+                .getInstance()
+                .getConfigurator()
+                .getInt("party.invite-expiration-time", 60), () -> {
+            Logger.trace("IParty invitation expired for: {} of party: {}", invitee.getName(), debugInfo());
+            invitee.getSettings().disable(PlayerSetting.INVITED_TO_PARTY);
+            inviteDataMap.remove(invitee.getInstance().getUniqueId());
+            PartyManager.getInstance().unindexInvitee(invitee, this);
+            if (shouldDisband()) {
+                SBA.getInstance()
+                        .getPartyManager()
+                        .disband(uuid);
+                Logger.trace("Disbanding party: {}", uuid);
             }
-        }.runTaskLater(SBA.getPluginInstance(),
-                20L * SBA
+            if (getPartyLeader().isOnline()) {
+                LanguageService
                         .getInstance()
-                        .getConfigurator()
-                        .getInt("party.invite-expiration-time", 60));
+                        .get(MessageKeys.PARTY_MESSAGE_INVITE_EXPIRED)
+                        .send(getPartyLeader());
+            }
+        });
 
         final var inviteData = PartyInviteData.of(invitee, player, inviteTask);
         inviteDataMap.put(invitee.getInstance().getUniqueId(), inviteData);
+        PartyManager.getInstance().indexInvitee(invitee, this);
     }
 
     @Override
@@ -156,16 +167,21 @@ public class Party implements IParty {
 
     @Override
     public boolean shouldDisband() {
-        return getInvitedPlayers().size() == 0 && getMembers().size() <= 1;
+        return invitedPlayers.isEmpty() && members.size() <= 1;
     }
 
     @Override
     public void removeInvitedPlayer(@NotNull SBAPlayerWrapper invitee) {
-        if (!invitedPlayers.contains(invitee)) {
+        if (!invitedPlayers.remove(invitee)) {
             return;
         }
 
-        invitedPlayers.remove(invitee);
+        // drop the pending invitation as well, otherwise the player would still count as invited until it expires
+        final var inviteData = inviteDataMap.remove(invitee.getInstance().getUniqueId());
+        if (inviteData != null) {
+            inviteData.getInviteTask().cancel();
+        }
+        PartyManager.getInstance().unindexInvitee(invitee, this);
         invitee.getSettings().disable(PlayerSetting.INVITED_TO_PARTY);
     }
 
@@ -10,13 +10,17 @@ import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.events.SBAPlayerPartyCreatedEvent;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 import io.github.pronze.sba.utils.Logger;
-import io.github.pronze.sba.utils.SBAUtil;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps track of the parties of the server.
+ * The party of a member and the party a player is invited to are looked up through indexes keyed by the uuid of the
+ * player, which the parties keep up to date. All maps are concurrent as party chat is handled on async threads.
+ */
 @Service(dependsOn = {
         Logger.class
 })
@@ -26,7 +30,9 @@ public class PartyManager implements IPartyManager {
         return ServiceManager.get(PartyManager.class);
     }
 
-    private final Map<UUID, IParty> partyMap = new HashMap<>();
+    private final Map<UUID, IParty> partyMap = new ConcurrentHashMap<>();
+    private final Map<UUID, IParty> partyByMember = new ConcurrentHashMap<>();
+    private final Map<UUID, IParty> partyByInvitee = new ConcurrentHashMap<>();
 
     public PartyManager() {}
 
@@ -40,6 +46,7 @@ public class PartyManager implements IPartyManager {
                 .callEvent(partyCreateEvent);
         if (partyCreateEvent.isCancelled()) return Optional.empty();
         partyMap.put(party.getUUID(), party);
+        party.getMembers().forEach(member -> indexMember(member, party));
         return Optional.of(party);
     }
 
@@ -67,18 +74,12 @@ public class PartyManager implements IPartyManager {
 
     @Override
     public Optional<IParty> getPartyOf(@NotNull SBAPlayerWrapper player) {
-        return partyMap.values()
-                .stream()
-                .filter(party -> party.getMembers().contains(player))
-                .findAny();
+        return Optional.ofNullable(partyByMember.get(player.getInstance().getUniqueId()));
     }
 
     @Override
     public Optional<IParty> getInvitedPartyOf(@NotNull SBAPlayerWrapper player) {
-        return partyMap.values()
-                .stream()
-                .filter(party -> party.isInvited(player))
-                .findAny();
+        return Optional.ofNullable(partyByInvitee.get(player.getInstance().getUniqueId()));
     }
 
     @Override
@@ -125,11 +126,30 @@ public class PartyManager implements IPartyManager {
                     .forEach(wrapperImpl::sendMessage);
         });
 
-        party.getInviteData().forEach(data -> {
-            final var inviteTask = data.getInviteTask();
-            SBAUtil.cancelTask(inviteTask);
-        });
+        party.getInviteData().forEach(data -> data.getInviteTask().cancel());
 
         partyMap.remove(party.getUUID());
+        partyByMember.values().removeIf(party::equals);
+        partyByInvitee.values().removeIf(party::equals);
+    }
+
+    void indexMember(@NotNull SBAPlayerWrapper member, @NotNull IParty party) {
+        if (partyMap.containsKey(party.getUUID())) {
+            partyByMember.put(member.getInstance().getUniqueId(), party);
+        }
+    }
+
+    void unindexMember(@NotNull SBAPlayerWrapper member, @NotNull IParty party) {
+        partyByMember.remove(member.getInstance().getUniqueId(), party);
+    }
+
+    void indexInvitee(@NotNull SBAPlayerWrapper invitee, @NotNull IParty party) {
+        if (partyMap.containsKey(party.getUUID())) {
+            partyByInvitee.put(invitee.getInstance().getUniqueId(), party);
+        }
+    }
+
+    void unindexInvitee(@NotNull SBAPlayerWrapper invitee, @NotNull IParty party) {
+        partyByInvitee.remove(invitee.getInstance().getUniqueId(), party);
     }
 }
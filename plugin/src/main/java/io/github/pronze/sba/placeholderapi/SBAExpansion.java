@@ -1,16 +1,52 @@
 package io.github.pronze.sba.placeholderapi;
 
 import io.github.pronze.sba.SBA;
+import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.game.ArenaManager;
+import io.github.pronze.sba.game.tasks.GeneratorTask;
 import io.github.pronze.sba.service.PlayerWrapperService;
 import io.github.pronze.sba.utils.Logger;
 import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.screamingsandals.bedwars.Main;
 import org.screamingsandals.bedwars.api.game.Game;
+import org.screamingsandals.bedwars.api.game.GameStatus;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Serves the sba placeholders.
+ * Identifiers are parsed once into a {@link Resolver} that is cached by the identifier string, game placeholders hold
+ * the {@link Game} directly and read their values from a snapshot of the game taken once per tick on the main thread,
+ * so requests coming from async threads never touch the game. Only the snapshots read since the previous tick are
+ * taken again, the others are taken again when they are requested.
+ * Supported placeholders:
+ * <ul>
+ *     <li>sba_version</li>
+ *     <li>sba_player_level, sba_player_xp, sba_player_progress</li>
+ *     <li>sba_game_&lt;game&gt;_status, _teams, _players, _time, _gametime, _minplayers, _maxplayers</li>
+ *     <li>sba_game_&lt;game&gt;_nexttier, _nexttiertime, _bed_&lt;team&gt;</li>
+ * </ul>
+ */
 public class SBAExpansion extends PlaceholderExpansion {
+    private static final int MAX_CACHED_RESOLVERS = 4096;
+
+    private final Map<String, Resolver> resolvers = new ConcurrentHashMap<>();
+    private final Map<Game, SnapshotHolder> snapshots = new ConcurrentHashMap<>();
+    private TaskerTask snapshotTask;
+    private String targetDestroyed;
+    private String targetExists;
+
     @Override
     public @NotNull String getIdentifier() {
         return "sba";
@@ -26,47 +62,249 @@ public class SBAExpansion extends PlaceholderExpansion {
         return SBA.getInstance().getVersion();
     }
 
+    /**
+     * Keeps the expansion registered through /papi reload, the snapshot task is only started once.
+     */
+    @Override
+    public boolean persist() {
+        return true;
+    }
+
+    @Override
+    public boolean register() {
+        targetDestroyed = SBAConfig.getInstance().node("team-status", "target-destroyed").getString("§c\u2717");
+        targetExists = SBAConfig.getInstance().node("team-status", "target-exists").getString("§a\u2713");
+        final var registered = super.register();
+        if (registered && snapshotTask == null) {
+            snapshotTask = Tasker.build(this::takeSnapshots).repeat(1L, TaskerTime.TICKS).start();
+        }
+        return registered;
+    }
+
     @Override
     public String onPlaceholderRequest(Player player, @NotNull String identifier) {
-        Logger.trace("Placeholder '" + identifier + "' was requested.");
-        String[] identifiers = identifier.split("_");
-        if (identifiers.length <= 1) return null;
-        if (identifiers[0].equalsIgnoreCase("player")) {
+        var resolver = resolvers.get(identifier);
+        if (resolver == null) {
+            resolver = compile(identifier);
+            if (resolver == null) {
+                return super.onPlaceholderRequest(player, identifier);
+            }
+            if (resolvers.size() < MAX_CACHED_RESOLVERS) {
+                resolvers.put(identifier, resolver);
+            }
+        }
+        return resolver.resolve(player);
+    }
+
+    /**
+     * @return the resolver of the identifier, null if it is unknown or refers to a game that does not exist
+     */
+    @Nullable
+    private Resolver compile(String identifier) {
+        Logger.trace("Compiling placeholder '{}'", identifier);
+        if (identifier.equalsIgnoreCase("version")) {
+            final var version = SBA.getInstance().getVersion();
+            return player -> version;
+        }
+        final var separator = identifier.indexOf('_');
+        if (separator <= 0) {
+            return null;
+        }
+        final var type = identifier.substring(0, separator);
+        final var rest = identifier.substring(separator + 1);
+        if (type.equalsIgnoreCase("player")) {
+            return compilePlayer(rest);
+        }
+        if (type.equalsIgnoreCase("game")) {
+            return compileGame(rest);
+        }
+        return null;
+    }
+
+    @Nullable
+    private Resolver compilePlayer(String key) {
+        switch (key) {
+            case "level":
+                return playerResolver(wrapper -> Integer.toString(wrapper.getLevel()));
+            case "xp":
+                return playerResolver(wrapper -> Integer.toString(wrapper.getXP()));
+            case "progress":
+                return playerResolver(wrapper -> Integer.toString(wrapper.getIntegerProgress()));
+        }
+        return null;
+    }
+
+    private static Resolver playerResolver(Function<SBAPlayerWrapper, String> getter) {
+        return player -> {
             if (player == null) {
                 return "";
             }
-            final SBAPlayerWrapper database = PlayerWrapperService.getInstance().get(player).orElseThrow();
-            switch (identifiers[1]) {
-                case "level":
-                    return Integer.toString(database.getLevel());
-                case "xp":
-                    return Integer.toString(database.getXP());
-                case "progress":
-                    return Integer.toString(database.getIntegerProgress());
+            return PlayerWrapperService.getInstance().get(player).map(getter).orElse("");
+        };
+    }
+
+    @Nullable
+    private Resolver compileGame(String rest) {
+        // game names may contain underscores, pick the longest name the identifier starts with
+        String gameName = null;
+        for (String name : Main.getGameNames()) {
+            if (rest.startsWith(name + "_") && (gameName == null || name.length() > gameName.length())) {
+                gameName = name;
+            }
+        }
+        if (gameName == null) {
+            return null;
+        }
+        final Game game = Main.getGame(gameName);
+        if (game == null) {
+            return null;
+        }
+
+        final var key = rest.substring(gameName.length() + 1);
+        final Function<GameSnapshot, String> getter;
+        switch (key) {
+            case "status":
+                getter = snapshot -> snapshot.status;
+                break;
+            case "teams":
+                getter = snapshot -> snapshot.teams;
+                break;
+            case "players":
+                getter = snapshot -> snapshot.players;
+                break;
+            case "time":
+                getter = snapshot -> snapshot.time;
+                break;
+            case "gametime":
+                getter = snapshot -> snapshot.gameTime;
+                break;
+            case "minplayers":
+                getter = snapshot -> snapshot.minPlayers;
+                break;
+            case "maxplayers":
+                getter = snapshot -> snapshot.maxPlayers;
+                break;
+            case "nexttier":
+                getter = snapshot -> snapshot.nextTier;
+                break;
+            case "nexttiertime":
+                getter = snapshot -> snapshot.nextTierTime;
+                break;
+            default:
+                if (!key.startsWith("bed_")) {
+                    return null;
+                }
+                final var teamName = key.substring(4);
+                getter = snapshot -> snapshot.bedStatus.getOrDefault(teamName, "");
+                break;
+        }
+        return player -> getter.apply(getSnapshot(game));
+    }
+
+    private GameSnapshot getSnapshot(Game game) {
+        var holder = snapshots.get(game);
+        if (holder == null) {
+            if (!Bukkit.isPrimaryThread()) {
+                // taken on the next tick
+                holder = snapshots.computeIfAbsent(game, k -> new SnapshotHolder(GameSnapshot.EMPTY));
+            } else {
+                holder = new SnapshotHolder(new GameSnapshot(game, targetDestroyed, targetExists));
+                snapshots.put(game, holder);
             }
-        } else if (identifiers[0].equalsIgnoreCase("game")) {
-            if (identifiers.length <= 2) return null;
-            final Game game = Main.getInstance().getGameByName(identifiers[1]);
-            switch (identifiers[2]) {
-                case "status":
-                    return game.getStatus().toString();
-                case "teams":
-                    return Integer.toString(game.countRunningTeams());
-                case "players":
-                    return Integer.toString(game.countConnectedPlayers());
-                case "time":
-                    return Integer.toString(game.getArenaTime().time);
-                case "gametime":
-                    return Integer.toString(game.getGameTime());
-                case "minplayers":
-                    return Integer.toString(game.getMinPlayers());
-                case "maxplayers":
-                    return Integer.toString(game.getMaxPlayers());
+        } else if (holder.stale && Bukkit.isPrimaryThread()) {
+            holder.snapshot = new GameSnapshot(game, targetDestroyed, targetExists);
+            holder.stale = false;
+        }
+        holder.read = true;
+        return holder.snapshot;
+    }
+
+    private void takeSnapshots() {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        for (var entry : snapshots.entrySet()) {
+            final var game = entry.getKey();
+            if (Main.getGame(game.getName()) != game) {
+                // the game has been reloaded, the resolvers holding it are compiled again on the next request
+                snapshots.remove(game);
+                resolvers.clear();
+                continue;
             }
-        } else if (identifiers[0].equalsIgnoreCase("version")) {
-            return SBA.getInstance().getVersion();
+            final var holder = entry.getValue();
+            if (!holder.read) {
+                // nobody asked for the game since the previous tick, it is taken again once it is requested
+                holder.stale = true;
+                continue;
+            }
+            holder.read = false;
+            holder.stale = false;
+            holder.snapshot = new GameSnapshot(game, targetDestroyed, targetExists);
         }
+    }
 
-        return super.onPlaceholderRequest(player, identifier);
+    @FunctionalInterface
+    private interface Resolver {
+        String resolve(@Nullable Player player);
+    }
+
+    private static class SnapshotHolder {
+        private volatile GameSnapshot snapshot;
+        private volatile boolean read;
+        private volatile boolean stale;
+
+        private SnapshotHolder(GameSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.read = true;
+        }
+    }
+
+    /**
+     * The values of the game placeholders at a given tick.
+     */
+    private static class GameSnapshot {
+        private static final GameSnapshot EMPTY = new GameSnapshot();
+
+        private final String status;
+        private final String teams;
+        private final String players;
+        private final String time;
+        private final String gameTime;
+        private final String minPlayers;
+        private final String maxPlayers;
+        private final String nextTier;
+        private final String nextTierTime;
+        private final Map<String, String> bedStatus;
+
+        private GameSnapshot() {
+            status = teams = players = time = gameTime = minPlayers = maxPlayers = nextTier = nextTierTime = "";
+            bedStatus = Map.of();
+        }
+
+        private GameSnapshot(Game game, String targetDestroyed, String targetExists) {
+            status = game.getStatus().toString();
+            teams = Integer.toString(game.countRunningTeams());
+            players = Integer.toString(game.countConnectedPlayers());
+            time = Integer.toString(game.getArenaTime().time);
+            gameTime = Integer.toString(game.getGameTime());
+            minPlayers = Integer.toString(game.getMinPlayers());
+            maxPlayers = Integer.toString(game.getMaxPlayers());
+
+            final var generatorTask = ArenaManager
+                    .getInstance()
+                    .get(game.getName())
+                    .flatMap(arena -> arena.getTask(GeneratorTask.class));
+            nextTier = generatorTask.map(task -> task.getNextTierName().replace("-", " ")).orElse("");
+            nextTierTime = generatorTask.map(GeneratorTask::getTimeLeftForNextEvent).orElse("");
+
+            if (game.getStatus() != GameStatus.RUNNING) {
+                bedStatus = Map.of();
+                return;
+            }
+            final var statuses = new HashMap<String, String>();
+            game.getAvailableTeams().forEach(team -> statuses.put(team.getName(), targetDestroyed));
+            game.getRunningTeams().forEach(team -> statuses.put(team.getName(), team.isDead() ? targetDestroyed : targetExists));
+            bedStatus = statuses;
+        }
     }
 }
@@ -0,0 +1,168 @@
+package io.github.pronze.sba.service;
+
+import io.github.pronze.sba.SBA;
+import io.github.pronze.sba.utils.Logger;
+import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.bedwars.Main;
+import org.screamingsandals.bedwars.api.statistics.PlayerStatistic;
+import org.screamingsandals.lib.plugin.ServiceManager;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
+import org.screamingsandals.lib.utils.annotations.Service;
+import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Loads the BedWars statistics of players once when they join, so scoreboards and placeholders never load them
+ * while rendering.
+ * Loaded statistics are cached until the player quits and handed to the {@link SBAPlayerWrapper} of the player,
+ * readers that find no statistic show placeholder values and request a load.
+ * The statistics manager of BedWars is not thread safe and has no way to take a statistic read elsewhere, so loads
+ * are queued and resolved through it on the main thread, a few per tick and at most once per player and session.
+ * Statistics saved by BedWars replace the cached ones, see {@link #refresh(PlayerStatistic)}.
+ */
+@Service(dependsOn = {
+        Logger.class,
+        PlayerWrapperService.class
+})
+public class StatisticsPreloadService implements Listener {
+
+    public static StatisticsPreloadService getInstance() {
+        return ServiceManager.get(StatisticsPreloadService.class);
+    }
+
+    private static final int LOADS_PER_TICK = 2;
+
+    /**
+     * Players a load has been requested for during their session, failed loads are not retried until they rejoin.
+     */
+    private final Set<UUID> requested = ConcurrentHashMap.newKeySet();
+    private final Queue<UUID> pending = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, PlayerStatistic> cache = new ConcurrentHashMap<>();
+    private TaskerTask loadTask;
+
+    @OnPostEnable
+    public void onPostEnable() {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        loadTask = Tasker.build(this::loadPending).repeat(1L, TaskerTime.TICKS).start();
+        SBA.getInstance().registerListener(this);
+        Bukkit.getOnlinePlayers().forEach(player -> preload(player.getUniqueId()));
+    }
+
+    @OnPreDisable
+    public void onPreDisable() {
+        if (loadTask != null) {
+            loadTask.cancel();
+            loadTask = null;
+        }
+        cache.clear();
+        pending.clear();
+        requested.clear();
+    }
+
+    /**
+     * @return the statistic of the player if it has been loaded, a load is requested otherwise
+     */
+    public Optional<PlayerStatistic> get(@NotNull UUID uuid) {
+        final var statistic = cache.get(uuid);
+        if (statistic == null) {
+            preload(uuid);
+        }
+        return Optional.ofNullable(statistic);
+    }
+
+    /**
+     * Queues the statistic of the player to be loaded, does nothing if it has already been requested this session.
+     * Can be called from any thread.
+     */
+    public void preload(@NotNull UUID uuid) {
+        if (loadTask == null || cache.containsKey(uuid) || !requested.add(uuid)) {
+            return;
+        }
+        pending.add(uuid);
+    }
+
+    /**
+     * Replaces the cached statistic with the instance BedWars has just saved.
+     */
+    public void refresh(@NotNull PlayerStatistic statistic) {
+        final var player = Bukkit.getPlayer(statistic.getId());
+        if (player != null) {
+            complete(player, statistic);
+        }
+    }
+
+    private void loadPending() {
+        for (int i = 0; i < LOADS_PER_TICK; i++) {
+            final var uuid = pending.poll();
+            if (uuid == null) {
+                return;
+            }
+            // players that left before their turn are not loaded at all
+            final var player = Bukkit.getPlayer(uuid);
+            if (player == null) {
+                requested.remove(uuid);
+                continue;
+            }
+            if (cache.containsKey(uuid)) {
+                continue;
+            }
+            final var statistic = load(uuid);
+            if (statistic != null) {
+                complete(player, statistic);
+            }
+        }
+    }
+
+    private PlayerStatistic load(UUID uuid) {
+        try {
+            // getStatistic hands out the instance BedWars already holds, so no second one is created for the player
+            final var manager = Main.getPlayerStatisticsManager();
+            final var statistic = manager.getStatistic(Bukkit.getOfflinePlayer(uuid));
+            return statistic != null ? statistic : manager.loadStatistic(uuid);
+        } catch (Throwable t) {
+            Logger.error("Could not load the statistics of player: {}", uuid);
+            t.printStackTrace();
+            return null;
+        }
+    }
+
+    private void complete(Player player, PlayerStatistic statistic) {
+        cache.put(player.getUniqueId(), statistic);
+        SBA.getInstance()
+                .getPlayerWrapperService()
+                .get(player)
+                .ifPresent(wrapper -> wrapper.setStatistic(statistic));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        preload(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        final var uuid = event.getPlayer().getUniqueId();
+        cache.remove(uuid);
+        requested.remove(uuid);
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.pronze.sba.service;
+
+import io.github.pronze.sba.utils.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.lib.plugin.ServiceManager;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
+import org.screamingsandals.lib.utils.annotations.Service;
+import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs the short lived timeouts of SBA, such as party invite expiries and respawn countdowns, from a single
+ * repeating task.
+ * Timeouts are kept in a hashed timing wheel with one slot per tick, scheduling and cancelling a timeout are
+ * constant time and each tick only visits the slot that is due. Cancelled timeouts are dropped when their slot is visited.
+ * Timeouts must be scheduled and cancelled from the main thread.
+ */
+@Service(dependsOn = {
+        Logger.class
+})
+public class TimeoutService {
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    public static TimeoutService getInstance() {
+        return ServiceManager.get(TimeoutService.class);
+    }
+
+    private final List<List<Timeout>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private List<Timeout> spare = new ArrayList<>();
+    private TaskerTask tickTask;
+    private long currentTick;
+    private boolean ticking;
+
+    public TimeoutService() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    @OnPostEnable
+    public void onPostEnable() {
+        if (tickTask != null) {
+            tickTask.cancel();
+        }
+        tickTask = Tasker.build(this::tick).repeat(1L, TaskerTime.TICKS).start();
+    }
+
+    @OnPreDisable
+    public void onPreDisable() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        wheel.forEach(slot -> slot.forEach(Timeout::cancel));
+        wheel.forEach(List::clear);
+    }
+
+    /**
+     * Runs the task once after the delay.
+     *
+     * @param delayTicks the amount of ticks to wait before running the task
+     * @param task the task to run
+     * @return the handle that cancels the timeout
+     */
+    public TimeoutHandle schedule(long delayTicks, @NotNull Runnable task) {
+        return repeat(delayTicks, 0L, timeout -> task.run());
+    }
+
+    /**
+     * Runs the task after the delay and then every period until the handle passed to the task is cancelled.
+     *
+     * @param delayTicks the amount of ticks to wait before the first run, a delay of zero runs the task on the next tick
+     * @param periodTicks the amount of ticks between two runs, zero or less to run the task only once
+     * @param task the task to run
+     * @return the handle that cancels the timeout
+     */
+    public TimeoutHandle repeat(long delayTicks, long periodTicks, @NotNull Consumer<TimeoutHandle> task) {
+        final var timeout = new Timeout(task, periodTicks);
+        insert(timeout, Math.max(1L, delayTicks));
+        return timeout;
+    }
+
+    private void insert(Timeout timeout, long delayTicks) {
+        // timeouts inserted during a tick are counted from the slot being visited
+        final long dueTick = (ticking ? currentTick : currentTick - 1) + delayTicks;
+        timeout.rounds = (delayTicks - 1) / WHEEL_SIZE;
+        wheel.get((int) (dueTick & WHEEL_MASK)).add(timeout);
+    }
+
+    private void tick() {
+        ticking = true;
+        final int slot = (int) (currentTick & WHEEL_MASK);
+        // swap the bucket out so timeouts re-inserted into this slot wait for the next revolution
+        final var bucket = wheel.get(slot);
+        wheel.set(slot, spare);
+        spare = bucket;
+
+        for (int i = 0; i < bucket.size(); i++) {
+            final var timeout = bucket.get(i);
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                wheel.get(slot).add(timeout);
+                continue;
+            }
+            timeout.run();
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.periodTicks > 0) {
+                insert(timeout, timeout.periodTicks);
+            } else {
+                timeout.cancelled = true;
+            }
+        }
+        bucket.clear();
+        currentTick++;
+        ticking = false;
+    }
+
+    private static class Timeout implements TimeoutHandle {
+        private final Consumer<TimeoutHandle> task;
+        private final long periodTicks;
+        private long rounds;
+        private boolean cancelled;
+
+        private Timeout(Consumer<TimeoutHandle> task, long periodTicks) {
+            this.task = task;
+            this.periodTicks = periodTicks;
+        }
+
+        private void run() {
+            try {
+                task.accept(this);
+            } catch (Throwable t) {
+                Logger.error("Could not run timeout task: {}", task);
+                t.printStackTrace();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.config.SBAConfig;
 import io.github.pronze.sba.data.DegradableItem;
+import io.github.pronze.sba.game.Arena;
 import io.github.pronze.sba.game.ArenaManager;
 import io.github.pronze.sba.game.IGameStorage;
 import io.github.pronze.sba.game.StoreType;
@@ -21,6 +22,7 @@ import org.bukkit.inventory.PlayerInventory;
 import org.jetbrains.annotations.NotNull;
 import org.screamingsandals.bedwars.Main;
 import org.screamingsandals.bedwars.api.BedwarsAPI;
+import org.screamingsandals.bedwars.api.RunningTeam;
 import org.screamingsandals.bedwars.api.TeamColor;
 import org.screamingsandals.bedwars.api.game.Game;
 import org.screamingsandals.bedwars.api.game.ItemSpawnerType;
@@ -45,6 +47,18 @@ public class ShopUtil {
             "IX", "X");
     public static final List<String> orderOfArmor = List.of("GOLDEN,GOLD", "CHAINMAIL", "IRON", "DIAMOND", "NETHERITE");
     public static final List<String> orderOfTools = List.of("WOODEN,WOOD", "STONE", "GOLDEN,GOLD", "IRON", "DIAMOND");
+    private static final Set<Material> swords = materialsEndingWith("SWORD");
+    private static final Set<Material> pickaxes = materialsEndingWith("PICKAXE");
+
+    private static Set<Material> materialsEndingWith(String suffix) {
+        final var materials = EnumSet.noneOf(Material.class);
+        for (Material material : Material.values()) {
+            if (material.name().endsWith(suffix)) {
+                materials.add(material);
+            }
+        }
+        return materials;
+    }
 
     @NotNull
     public static Integer getLevelFromMaterialName(@NotNull String name, final List<String> list) {
@@ -378,10 +392,31 @@ public class ShopUtil {
     public static Item applyTeamUpgradeEnchantsToItem(Item item, ItemRenderEvent event, StoreType type) {
         final var player = event.getPlayer().as(Player.class);
         final var game = Main.getInstance().getGameOfPlayer(player);
-        final var typeName = item.getMaterial().platformName();
         final var runningTeam = game.getTeamOfPlayer(player);
+        final var shopItem = event.getInfo().getOriginal();
+        final var gameStorage = SBA.getInstance()
+                .getGameStorage(game)
+                .orElse(null);
+        final var arena = (Arena) ArenaManager
+                .getInstance()
+                .get(game.getName())
+                .orElse(null);
 
-        var prices = event.getInfo().getOriginal().getPrices();
+        // the rendered item only depends on the item and the upgrade levels of the team
+        final var cache = arena == null || gameStorage == null || runningTeam == null
+                ? null
+                : arena.getStoreItemRenderCache();
+        final var upgradeVersion = cache == null ? 0 : gameStorage.getUpgradeVersion(runningTeam);
+        if (cache != null) {
+            final var cached = cache.get(shopItem, runningTeam, type, upgradeVersion, item);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final var input = item;
+        final var typeName = item.getMaterial().platformName();
+        var prices = shopItem.getPrices();
         if (!prices.isEmpty()) {
 
             ArrayList<Component> lore = new ArrayList<>(item.getLore());
@@ -394,10 +429,7 @@ public class ShopUtil {
             item = item.withItemLore(lore);
         }
 
-        var maybeStorage = SBA.getInstance()
-                .getGameStorage(game);
-        if (maybeStorage.isPresent()) {
-            var gameStorage = maybeStorage.get();
+        if (gameStorage != null) {
             final var afterUnderscore = typeName
                     .substring(typeName.contains("_") ? typeName.indexOf("_") + 1 : 0);
             switch (afterUnderscore.toLowerCase()) {
@@ -420,6 +452,9 @@ public class ShopUtil {
             }
 
         }
+        if (cache != null) {
+            cache.put(shopItem, runningTeam, type, upgradeVersion, input, item);
+        }
         return item;
     }
 
@@ -472,8 +507,6 @@ public class ShopUtil {
                 .orElseThrow()
                 .getStorage();
         final var teamProtectionLevel = gameStorage.getProtectionLevel(team).orElse(0);
-        if (teamProtectionLevel > 0)
-            ShopUtil.addEnchantsToPlayerArmor(player, teamProtectionLevel);
         final var finalTeamSharpnessLevel = gameStorage.getSharpnessLevel(team).orElse(0);
         final var finalTeamEfficiencyLevel = gameStorage.getEfficiencyLevel(team).orElse(0);
 
@@ -481,20 +514,46 @@ public class ShopUtil {
         Logger.trace("Player finalTeamSharpnessLevel {}", finalTeamSharpnessLevel);
         Logger.trace("Player finalTeamEfficiencyLevel {}", finalTeamEfficiencyLevel);
 
-        Arrays.stream(player.getInventory().getContents())
-                .filter(Objects::nonNull)
-                .forEach(item -> {
-                    if (finalTeamSharpnessLevel > 0)
-                        if (item.getType().name().endsWith("SWORD")) {
-                            item.addEnchantment(Enchantment.DAMAGE_ALL,
-                                    finalTeamSharpnessLevel);
-                        }
-                    if (finalTeamEfficiencyLevel > 0)
-                        if (item.getType().name().endsWith("PICKAXE")) {
-                            item.addEnchantment(Enchantment.DIG_SPEED,
-                                    finalTeamEfficiencyLevel);
-                        }
-                });
+        applyUpgradeEnchants(player, finalTeamSharpnessLevel, finalTeamEfficiencyLevel, teamProtectionLevel);
+    }
+
+    /**
+     * Enchants the swords, pickaxes and worn armor of every connected player of the team, see
+     * {@link #applyUpgradeEnchants(Player, int, int, int)}.
+     */
+    public static void applyTeamUpgradeEnchants(@NotNull RunningTeam team, int sharpness, int efficiency, int protection) {
+        for (Player teamPlayer : team.getConnectedPlayers()) {
+            applyUpgradeEnchants(teamPlayer, sharpness, efficiency, protection);
+        }
+    }
+
+    /**
+     * Enchants the swords and pickaxes held by the player and the armor it wears in a single pass over its inventory.
+     * A level of zero or less leaves the matching items untouched.
+     */
+    public static void applyUpgradeEnchants(@NotNull Player player, int sharpness, int efficiency, int protection) {
+        final var inventory = player.getInventory();
+        if (sharpness > 0 || efficiency > 0) {
+            for (ItemStack item : inventory.getStorageContents()) {
+                enchantTool(item, sharpness, efficiency);
+            }
+            enchantTool(inventory.getItemInOffHand(), sharpness, efficiency);
+        }
+        if (protection > 0) {
+            addEnchantsToPlayerArmor(player, protection);
+        }
+    }
+
+    private static void enchantTool(ItemStack item, int sharpness, int efficiency) {
+        if (item == null) {
+            return;
+        }
+        final var type = item.getType();
+        if (sharpness > 0 && swords.contains(type)) {
+            item.addEnchantment(Enchantment.DAMAGE_ALL, sharpness);
+        } else if (efficiency > 0 && pickaxes.contains(type)) {
+            item.addEnchantment(Enchantment.DIG_SPEED, efficiency);
+        }
     }
 
 }
\ No newline at end of file
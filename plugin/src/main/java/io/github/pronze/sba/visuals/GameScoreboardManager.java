@@ -3,7 +3,10 @@ package io.github.pronze.sba.visuals;
 import io.github.pronze.sba.MessageKeys;
 import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.game.tasks.GeneratorTask;
+import io.github.pronze.sba.lang.PlaceholderResolver;
+import io.github.pronze.sba.lang.Placeholders;
 import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.service.StatisticsPreloadService;
 import io.github.pronze.sba.utils.DateUtils;
 import io.github.pronze.sba.utils.Logger;
 import org.bukkit.Bukkit;
@@ -12,6 +15,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.screamingsandals.bedwars.Main;
+import org.screamingsandals.bedwars.api.statistics.PlayerStatistic;
 import org.screamingsandals.bedwars.api.RunningTeam;
 import org.screamingsandals.bedwars.api.Team;
 import org.screamingsandals.bedwars.game.Game;
@@ -24,11 +28,25 @@ import io.github.pronze.lib.pronzelib.scoreboards.ScoreboardManager;
 
 import java.util.*;
 
+/**
+ * Renders the in game scoreboards of an arena.
+ * Every update first computes the values shared by all players of the arena once, then each board only
+ * applies the few values that are specific to its player on top of them.
+ */
 public class GameScoreboardManager implements io.github.pronze.sba.manager.ScoreboardManager {
+    private static final long UPDATE_INTERVAL = 10L;
+
     private final Game game;
     private final Arena arena;
     private final Map<UUID, Scoreboard> scoreboardMap = new HashMap<>();
     private final List<String> scoreboard_lines = new ArrayList<>();
+    private final Set<String> lineKeys;
+    private final String youMessage;
+    private final String targetDestroyed;
+    private final String targetExists;
+    private final String statusAlive;
+    private final String statusDestroyed;
+    private final String statusEliminated;
     protected BukkitTask updateTask;
 
     public GameScoreboardManager(Arena arena) {
@@ -38,17 +56,32 @@ public class GameScoreboardManager implements io.github.pronze.sba.manager.Score
         if (game.countAvailableTeams() >= 5) {
             scoreboard_lines.addAll(LanguageService
                     .getInstance()
-                    .get(MessageKeys.SCOREBOARD_LINES_5)
+                    .getTemplate(MessageKeys.SCOREBOARD_LINES_5)
                     .toStringList());
         } else {
             scoreboard_lines.addAll(LanguageService
                     .getInstance()
-                    .get(MessageKeys.SCOREBOARD_LINES_DEFAULT)
+                    .getTemplate(MessageKeys.SCOREBOARD_LINES_DEFAULT)
                     .toStringList());
         }
+        scoreboard_lines.removeIf(Objects::isNull);
+        lineKeys = ScoreboardLinePreparer.collectKeys(scoreboard_lines);
+        // filled in per team when the lines are rendered
+        lineKeys.remove("team_status");
+
+        youMessage = LanguageService
+                .getInstance()
+                .getTemplate(MessageKeys.SCOREBOARD_YOU_MESSAGE)
+                .toString();
+        targetDestroyed = SBAConfig.getInstance().node("team-status", "target-destroyed").getString("§c\u2717");
+        targetExists = SBAConfig.getInstance().node("team-status", "target-exists").getString("§a\u2713");
+        statusAlive = SBAConfig.getInstance().node("team-status", "alive").getString("%color% %team% §a\u2713 §8%you%");
+        statusDestroyed = SBAConfig.getInstance().node("team-status", "destroyed").getString("%color% %team% §a§f%players%§8 %you%");
+        statusEliminated = SBAConfig.getInstance().node("team-status", "eliminated").getString("%color% %team% §c\u2718 %you%");
+
         game.getConnectedPlayers().forEach(this::createScoreboard);
+        updateTask = Bukkit.getScheduler().runTaskTimer(SBA.getPluginInstance(), this::update, UPDATE_INTERVAL, UPDATE_INTERVAL);
     }
-
     public Optional<Scoreboard> getScoreboard(@NotNull UUID playerUUID) {
         return Optional.ofNullable(scoreboardMap.get(playerUUID));
     }
@@ -68,13 +101,10 @@ public class GameScoreboardManager implements io.github.pronze.sba.manager.Score
                 .animate(true)
                 .player(player)
                 .displayObjective("bwa-game")
-                .updateInterval(10L)
+                // lines are pushed by the arena wide update task
+                .disableUpdateTask()
                 .animationInterval(2L)
                 .animatedTitle(title)
-                .updateCallback(board -> {
-                    board.setLines(process(player, board));
-                    return true;
-                })
                 .build();
 
         final var holder = scoreboard.getHolder();
@@ -90,10 +120,12 @@ public class GameScoreboardManager implements io.github.pronze.sba.manager.Score
                             scoreboardTeam.addEntry(teamPlayer.getName());
                         }
                     });
+            arena.getInvisibilityManager().registerTeams(holder);
         })).afterOneTick().start();
 
 
         scoreboardMap.put(player.getUniqueId(), scoreboard);
+        scoreboard.setPreparedLines(scoreboard.prepareLines(process(player, computeFrame())));
     }
 
     public void removeScoreboard(@NotNull Player player) {
@@ -118,97 +150,104 @@ public class GameScoreboardManager implements io.github.pronze.sba.manager.Score
         }
     }
 
-    public List<String> process(Player player, Scoreboard board) {
-        final var holder = board.getHolder();
-        final var lines = new ArrayList<String>();
-        final var optionalPlayerData = arena.getPlayerData(player.getUniqueId());
+    private void update() {
+        if (scoreboardMap.isEmpty()) {
+            return;
+        }
+        final var frame = computeFrame();
+        final var preparer = ScoreboardLinePreparer.getInstance();
+        scoreboardMap.values().forEach(scoreboard -> {
+            final var overlay = createOverlay(scoreboard.getHolder().getPlayer(), frame);
+            if (overlay == null) {
+                return;
+            }
+            preparer.prepare(scoreboard, () -> scoreboard.prepareLines(render(frame, overlay)));
+        });
+    }
+
+    /**
+     * Computes the values that are the same for every player of the arena.
+     */
+    private Frame computeFrame() {
+        final var values = Placeholders.create()
+                .put("sba_version", SBA.getInstance().getVersion())
+                .put("time", game.getFormattedTimeLeft())
+                .put("formattime", game.getFormattedTimeLeft())
+                .put("game", game.getName())
+                .put("date", DateUtils.getFormattedDate());
+
+        arena.getTask(GeneratorTask.class).ifPresent(generatorTask -> values.put("tier", generatorTask.getNextTierName()
+                .replace("-", " ") + " in §a" + generatorTask.getTimeLeftForNextEvent()));
+
+        final var teamStatuses = new ArrayList<TeamStatus>();
+        game.getAvailableTeams().forEach(team -> {
+            final var status = getTeamStatusFormat(team);
+            teamStatuses.add(new TeamStatus(team.getName(),
+                    status.replace("%you%", youMessage),
+                    status.replace("%you%", "")));
+        });
+        return new Frame(values, teamStatuses);
+    }
 
+    public List<String> process(Player player, Frame frame) {
+        final var overlay = createOverlay(player, frame);
+        return overlay == null ? List.of() : render(frame, overlay);
+    }
+
+    /**
+     * Snapshots the values specific to the player, including the PlaceholderAPI values of the lines,
+     * must be called on the main thread.
+     */
+    private Overlay createOverlay(Player player, Frame frame) {
+        final var optionalPlayerData = arena.getPlayerData(player.getUniqueId());
         if (optionalPlayerData.isEmpty()) {
-            return List.of();
+            return null;
         }
 
         final var playerData = optionalPlayerData.get();
         final var playerTeam = game.getTeamOfPlayer(player);
-        var statistic = Main.getPlayerStatisticsManager().getStatistic(player);
+        // loaded in the background, shows zero until the statistic is available
+        final var totalKills = StatisticsPreloadService
+                .getInstance()
+                .get(player.getUniqueId())
+                .map(PlayerStatistic::getKills)
+                .orElse(0);
+
+        final var values = Placeholders.create()
+                .put("team", playerTeam == null ? "" : playerTeam.getName())
+                .put("beds", playerData.getBedDestroys())
+                .put("dies", playerData.getDeaths())
+                .put("totalkills", totalKills)
+                .put("finalkills", totalKills)
+                .put("kills", playerData.getKills())
+                .put("team_bed_status", playerTeam == null ? "" : getTeamBedStatus(playerTeam));
+        ScoreboardLinePreparer.resolveExternal(player, lineKeys, frame.with(values), values);
+        return new Overlay(values, playerTeam == null ? null : playerTeam.getName());
+    }
 
-        if (statistic == null) {
-            Main.getInstance().getStatisticsManager().loadStatistic(player.getUniqueId());
-            statistic = Main.getPlayerStatisticsManager().getStatistic(player);
-            if (statistic == null) {
-                return List.of();
+    private List<String> render(Frame frame, Overlay overlay) {
+        final var resolver = frame.with(overlay.values);
+        final var teamName = overlay.teamName;
+        final var lines = new ArrayList<String>(scoreboard_lines.size() + frame.teamStatuses.size());
+        for (String line : scoreboard_lines) {
+            if (!line.contains("%team_status%")) {
+                lines.add(Placeholders.apply(line, resolver));
+                continue;
+            }
+            for (TeamStatus teamStatus : frame.teamStatuses) {
+                final var status = teamStatus.name.equalsIgnoreCase(teamName) ? teamStatus.withYou : teamStatus.withoutYou;
+                lines.add(Placeholders.apply(line, key -> key.equals("team_status") ? status : resolver.resolve(key)));
             }
         }
-
-        final var totalKills = String.valueOf(statistic.getKills());
-        final var currentKills = String.valueOf(playerData.getKills());
-        final var finalKills = String.valueOf(statistic.getKills());
-        final var currentDeaths = String.valueOf(playerData.getDeaths());
-        final var currentBedDestroys = String.valueOf(playerData.getBedDestroys());
-        final var teamName = playerTeam == null ? "" : playerTeam.getName();
-        final var teamStatus = playerTeam != null ? getTeamBedStatus(playerTeam) : null;
-
-        scoreboard_lines.stream()
-                .filter(Objects::nonNull)
-                .forEach(line -> {
-                    if (line.contains("%team_status%")) {
-                        String finalLine = line;
-                        game.getAvailableTeams().forEach(t -> {
-                            String you = "";
-                            if (playerTeam != null) {
-                                if (playerTeam.getName().equalsIgnoreCase(t.getName())) {
-                                    you = LanguageService
-                                            .getInstance()
-                                            .get(MessageKeys.SCOREBOARD_YOU_MESSAGE)
-                                            .toString();
-                                }
-                            }
-                            lines.add(finalLine.replace("%team_status%",
-                                    getTeamStatusFormat(t).replace("%you%", you)));
-                        });
-                        return;
-                    }
-
-                    final var generatorTask = arena.getTask(GeneratorTask.class).orElseThrow();
-
-                    line = line
-                            .replace("%sba_version%", SBA.getInstance().getVersion())
-                            .replace("%team%", teamName)
-                            .replace("%beds%", currentBedDestroys)
-                            .replace("%dies%", currentDeaths)
-                            .replace("%totalkills%", totalKills)
-                            .replace("%finalkills%", finalKills)
-                            .replace("%kills%", currentKills)
-                            .replace("%time%", game.getFormattedTimeLeft())
-                            .replace("%formattime%", game.getFormattedTimeLeft())
-                            .replace("%game%", game.getName())
-                            .replace("%date%", DateUtils.getFormattedDate())
-                            .replace("%team_bed_status%", teamStatus == null ? "" : teamStatus)
-                            .replace("%tier%", generatorTask.getNextTierName()
-                                    .replace("-", " ") + " in §a" + generatorTask.getTimeLeftForNextEvent());
-
-                    lines.add(line);
-                });
         return lines;
     }
 
     private String getTeamBedStatus(RunningTeam team) {
-        return team.isDead() ?
-                SBAConfig.getInstance().node("team-status", "target-destroyed").getString("§c\u2717") :
-                SBAConfig.getInstance().node("team-status", "target-exists").getString("§a\u2713");
+        return team.isDead() ? targetDestroyed : targetExists;
     }
 
     private String getTeamStatusFormat(RunningTeam team) {
-        String alive = SBAConfig
-                .getInstance()
-                .node("team-status", "alive")
-                .getString("%color% %team% §a\u2713 §8%you%");
-
-        String destroyed = SBAConfig
-                .getInstance()
-                .node("team-status", "destroyed")
-                .getString("%color% %team% §a§f%players%§8 %you%");
-
-        String status = team.isTargetBlockExists() ? alive : destroyed;
+        String status = team.isTargetBlockExists() ? statusAlive : statusDestroyed;
 
         String formattedTeam = TeamColor
                 .valueOf(team.getColor().name())
@@ -224,26 +263,72 @@ public class GameScoreboardManager implements io.github.pronze.sba.manager.Score
     }
 
     private String getTeamStatusFormat(Team team) {
-        return game
+        final var runningTeam = game
                 .getRunningTeams()
                 .stream()
                 .filter(t -> t.getName().equalsIgnoreCase(team.getName()))
-                .map(this::getTeamStatusFormat)
-                .findAny()
-                .orElseGet(() -> {
-                    final var destroyed = SBAConfig
-                            .getInstance()
-                            .node("team-status", "eliminated")
-                            .getString("%color% %team% §c\u2718 %you%");
-
-                    final var formattedTeam = TeamColor
-                            .valueOf(team.getColor().name()).chatColor.toString()
-                            + team.getName().charAt(0);
-
-                    return destroyed
-                            .replace("%color%", formattedTeam)
-                            .replace("%team%", ChatColor.WHITE
-                                    + team.getName() + ":");
-                });
-    }
-}
\ No newline at end of file
+                .findAny();
+        if (runningTeam.isPresent()) {
+            return getTeamStatusFormat(runningTeam.get());
+        }
+
+        final var formattedTeam = TeamColor
+                .valueOf(team.getColor().name()).chatColor.toString()
+                + team.getName().charAt(0);
+
+        return statusEliminated
+                .replace("%color%", formattedTeam)
+                .replace("%team%", ChatColor.WHITE
+                        + team.getName() + ":");
+    }
+
+    /**
+     * The placeholder values shared by every board of the arena for one update.
+     */
+    public static class Frame {
+        private final Placeholders values;
+        private final List<TeamStatus> teamStatuses;
+
+        private Frame(Placeholders values, List<TeamStatus> teamStatuses) {
+            this.values = values;
+            this.teamStatuses = teamStatuses;
+        }
+
+        private PlaceholderResolver with(Placeholders overlay) {
+            return new PlaceholderResolver() {
+                @Override
+                public String resolve(@NotNull String key) {
+                    final var value = overlay.resolve(key);
+                    return value != null ? value : values.resolve(key);
+                }
+
+                @Override
+                public boolean appendTo(@NotNull StringBuilder builder, @NotNull String key) {
+                    return overlay.appendTo(builder, key) || values.appendTo(builder, key);
+                }
+            };
+        }
+    }
+
+    private static class Overlay {
+        private final Placeholders values;
+        private final String teamName;
+
+        private Overlay(Placeholders values, String teamName) {
+            this.values = values;
+            this.teamName = teamName;
+        }
+    }
+
+    private static class TeamStatus {
+        private final String name;
+        private final String withYou;
+        private final String withoutYou;
+
+        private TeamStatus(String name, String withYou, String withoutYou) {
+            this.name = name;
+            this.withYou = withYou;
+            this.withoutYou = withoutYou;
+        }
+    }
+}
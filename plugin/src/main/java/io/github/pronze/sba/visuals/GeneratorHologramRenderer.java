@@ -0,0 +1,121 @@
+package io.github.pronze.sba.visuals;
+
+import io.github.pronze.sba.MessageKeys;
+import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.game.RotatingGenerator;
+import io.github.pronze.sba.lang.MessageTemplate;
+import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.utils.Logger;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.lib.plugin.ServiceManager;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
+import org.screamingsandals.lib.utils.annotations.Service;
+import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates the holograms of all rotating generators from a single repeating task.
+ * The language lines are resolved once per pass, generators are processed world by world and the hologram
+ * lines are only rewritten for generators that have a player within render distance.
+ */
+@Service
+public class GeneratorHologramRenderer {
+
+    public static GeneratorHologramRenderer getInstance() {
+        return ServiceManager.get(GeneratorHologramRenderer.class);
+    }
+
+    private final Map<World, List<RotatingGenerator>> generatorsByWorld = new HashMap<>();
+    private TaskerTask renderTask;
+    private double renderDistanceSquared;
+
+    @OnPostEnable
+    public void onPostEnable() {
+        final var renderDistance = SBAConfig.getInstance().node("floating-generator", "render-distance").getInt(64);
+        renderDistanceSquared = (double) renderDistance * renderDistance;
+        if (renderTask != null) {
+            renderTask.cancel();
+        }
+        renderTask = Tasker.build(this::render).repeat(20L, TaskerTime.TICKS).start();
+    }
+
+    @OnPreDisable
+    public void onPreDisable() {
+        if (renderTask != null) {
+            renderTask.cancel();
+            renderTask = null;
+        }
+        generatorsByWorld.clear();
+    }
+
+    public void register(@NotNull RotatingGenerator generator) {
+        final var generators = generatorsByWorld.computeIfAbsent(generator.getLocation().getWorld(), k -> new ArrayList<>());
+        if (!generators.contains(generator)) {
+            generators.add(generator);
+        }
+    }
+
+    public void unregister(@NotNull RotatingGenerator generator) {
+        generatorsByWorld.values().forEach(generators -> generators.remove(generator));
+        generatorsByWorld.values().removeIf(List::isEmpty);
+    }
+
+    private void render() {
+        if (generatorsByWorld.isEmpty()) {
+            return;
+        }
+        final var frame = new Frame();
+        generatorsByWorld.forEach((world, generators) -> {
+            final var viewerLocations = new ArrayList<Location>();
+            world.getPlayers().forEach(player -> viewerLocations.add(player.getLocation()));
+            for (int i = 0; i < generators.size(); i++) {
+                final var generator = generators.get(i);
+                try {
+                    generator.tick(frame, isInRange(generator, viewerLocations));
+                } catch (Throwable t) {
+                    Logger.error("Could not update hologram of generator: {}", generator);
+                    t.printStackTrace();
+                }
+            }
+        });
+    }
+
+    private boolean isInRange(RotatingGenerator generator, List<Location> viewerLocations) {
+        final var location = generator.getLocation();
+        for (Location viewerLocation : viewerLocations) {
+            if (viewerLocation.distanceSquared(location) <= renderDistanceSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The language dependant parts of the generator lines, resolved once per render pass.
+     */
+    @Getter
+    public static class Frame {
+        private final MessageTemplate format;
+        private final MessageTemplate fullFormat;
+        private final String diamondName;
+        private final String emeraldName;
+
+        private Frame() {
+            final var languageService = LanguageService.getInstance();
+            format = languageService.getTemplate(MessageKeys.ROTATING_GENERATOR_FORMAT);
+            fullFormat = languageService.getTemplate(MessageKeys.ROTATING_GENERATOR_FULL_TEXT_FORMAT);
+            diamondName = "§b" + languageService.getTemplate(MessageKeys.DIAMOND).toString() + "§6";
+            emeraldName = "§a" + languageService.getTemplate(MessageKeys.EMERALD).toString() + "§6";
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package io.github.pronze.sba.visuals;
 
 import io.github.pronze.sba.MessageKeys;
+import io.github.pronze.sba.lang.Placeholders;
 import io.github.pronze.sba.lib.lang.LanguageService;
 import io.github.pronze.sba.utils.DateUtils;
 import io.github.pronze.sba.utils.Logger;
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -71,7 +71,7 @@ public class LobbyScoreboardManager implements Listener {
                 .animationInterval(2L)
                 .animatedTitle(animatedTitle)
                 .updateCallback(board -> {
-                    board.setLines(process(player, game, board));
+                    update(board, game);
                     return true;
                 })
                 .build();
@@ -98,49 +98,57 @@ public class LobbyScoreboardManager implements Listener {
         }
     }
 
-    private List<String> process(Player player, Game game, Scoreboard scoreboard) {
-        final var lines = new ArrayList<String>();
-        String state = LanguageService
+    private void update(Scoreboard scoreboard, Game game) {
+        syncTeams(scoreboard, game);
+        final var values = createPlaceholders(game);
+        final var lines = LanguageService
                 .getInstance()
-                .get(MessageKeys.LOBBY_SCOREBOARD_STATE_WAITING)
+                .getTemplate(MessageKeys.LOBBY_SCOREBOARD_LINES)
+                .toStringList();
+        ScoreboardLinePreparer.getInstance().prepare(scoreboard, () -> {
+            final var formatted = new ArrayList<String>(lines.size());
+            lines.forEach(line -> formatted.add(Placeholders.apply(line, values)));
+            return scoreboard.prepareLines(formatted);
+        });
+    }
+
+    /**
+     * Snapshots the values of the lobby lines, must be called on the main thread.
+     */
+    private Placeholders createPlaceholders(Game game) {
+        final var languageService = LanguageService.getInstance();
+        String state = languageService
+                .getTemplate(MessageKeys.LOBBY_SCOREBOARD_STATE_WAITING)
                 .toString();
 
         int needplayers = game.getMinPlayers() - game.getConnectedPlayers().size();
         needplayers = Math.max(needplayers, 0);
-        // int s = SBAConfig.game_size.getOrDefault(game.getName(), 4);
         String mode;
 
-        int s = game.getAvailableTeams().get(0).getMaxPlayers();
-
         if (game.getAvailableTeams().stream().allMatch(t -> t.getMaxPlayers() == 1)) {
-            mode = LanguageService
-                    .getInstance()
-                    .get(MessageKeys.LOBBY_SCOREBOARD_SOLO_PREFIX)
+            mode = languageService
+                    .getTemplate(MessageKeys.LOBBY_SCOREBOARD_SOLO_PREFIX)
                     .toString();
         }
         else if (game.getAvailableTeams().stream().allMatch(t -> t.getMaxPlayers() == 2)) {
-            mode = LanguageService
-                    .getInstance()
-                    .get(MessageKeys.LOBBY_SCOREBOARD_DOUBLES_PREFIX)
+            mode = languageService
+                    .getTemplate(MessageKeys.LOBBY_SCOREBOARD_DOUBLES_PREFIX)
                     .toString();
         }
         else if (game.getAvailableTeams().stream().allMatch(t -> t.getMaxPlayers() == 3)) {
-            mode = LanguageService
-                    .getInstance()
-                    .get(MessageKeys.LOBBY_SCOREBOARD_TRIPLES_PREFIX)
+            mode = languageService
+                    .getTemplate(MessageKeys.LOBBY_SCOREBOARD_TRIPLES_PREFIX)
                     .toString();
         }
         else if (game.getAvailableTeams().stream().allMatch(t -> t.getMaxPlayers() == 4)) {
-            mode = LanguageService
-                    .getInstance()
-                    .get(MessageKeys.LOBBY_SCOREBOARD_SQUADS_PREFIX)
+            mode = languageService
+                    .getTemplate(MessageKeys.LOBBY_SCOREBOARD_SQUADS_PREFIX)
                     .toString();
         } else {
             List<String> teamSize = game.getAvailableTeams().stream().map(m -> m.getMaxPlayers()).map(String::valueOf)
                     .collect(Collectors.toList());
             mode = String.join("v", teamSize);
         }
-        // mode = s + "v" + s + "v" + s + "v" + s;
 
         if (game.countConnectedPlayers() >= game.getMinPlayers()
                 && game.getStatus() == GameStatus.WAITING) {
@@ -149,38 +157,26 @@ public class LobbyScoreboardManager implements Listener {
             if (!time.contains("0-1")) {
                 final var units = time.split(":");
                 int seconds = Integer.parseInt(units[1]) + 1 + Integer.parseInt(units[0])*60;
-                state = LanguageService
-                        .getInstance()
-                        .get(MessageKeys.LOBBY_SCOREBOARD_STATE)
-                        .replace("%countdown%", seconds <=60 ? String.valueOf(seconds): gameImpl.getFormattedTimeLeft())
-                        .toString();
+                final var countdown = seconds <= 60 ? String.valueOf(seconds) : time;
+                state = languageService
+                        .getTemplate(MessageKeys.LOBBY_SCOREBOARD_STATE)
+                        .toString(key -> key.equals("countdown") ? countdown : null);
             }
         }
 
-        final var finalState = state;
-        final var finalNeedplayers = needplayers;
-
-        var lobbyScoreboardLines = LanguageService
-                .getInstance()
-                .get(MessageKeys.LOBBY_SCOREBOARD_LINES)
-                .toStringList();
-
-        lobbyScoreboardLines.forEach(line -> {
-            line = line
-                    .replace("%sba_version%", SBA.getInstance().getVersion())
-                    .replace("%date%", DateUtils.getFormattedDate())
-                    .replace("%state%", finalState)
-                    .replace("%game%", game.getName())
-                    .replace("%players%", String.valueOf(game.getConnectedPlayers().size()))
-                    .replace("%maxplayers%", String.valueOf(game.getMaxPlayers()))
-                    .replace("%minplayers%", String.valueOf(game.getMinPlayers()))
-                    .replace("%needplayers%", String.valueOf(finalNeedplayers))
-                    .replace("%mode%", mode);
-            if (Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI"))
-                line = PlaceholderAPI.setPlaceholders(player, line);
-            lines.add(line);
-        });
+        return Placeholders.create()
+                .put("sba_version", SBA.getInstance().getVersion())
+                .put("date", DateUtils.getFormattedDate())
+                .put("state", state)
+                .put("game", game.getName())
+                .put("players", game.getConnectedPlayers().size())
+                .put("maxplayers", game.getMaxPlayers())
+                .put("minplayers", game.getMinPlayers())
+                .put("needplayers", needplayers)
+                .put("mode", mode);
+    }
 
+    private void syncTeams(Scoreboard scoreboard, Game game) {
         final var holder = scoreboard.getHolder();
         game.getRunningTeams().forEach(team -> {
             if (!holder.hasTeamEntry(team.getName())) {
@@ -205,6 +201,5 @@ public class LobbyScoreboardManager implements Listener {
                     .filter(playerName -> !scoreboardTeam.hasEntry(playerName))
                     .forEach(scoreboardTeam::addEntry);
         });
-        return lines;
     }
 }
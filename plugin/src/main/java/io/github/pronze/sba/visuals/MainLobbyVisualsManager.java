@@ -1,7 +1,9 @@
 package io.github.pronze.sba.visuals;
 
 import io.github.pronze.sba.MessageKeys;
+import io.github.pronze.sba.lang.Placeholders;
 import io.github.pronze.sba.lib.lang.LanguageService;
+import io.github.pronze.sba.service.StatisticsPreloadService;
 import io.github.pronze.sba.utils.Logger;
 import me.clip.placeholderapi.PlaceholderAPI;
 import net.kyori.adventure.text.Component;
@@ -30,6 +32,7 @@ import io.github.pronze.sba.SBA;
 import io.github.pronze.sba.config.SBAConfig;
 import io.github.pronze.sba.utils.SBAUtil;
 import io.github.pronze.sba.utils.ShopUtil;
+import io.github.pronze.sba.wrapper.SBAPlayerWrapper;
 import io.github.pronze.lib.pronzelib.scoreboards.Scoreboard;
 import java.util.*;
 
@@ -198,41 +201,68 @@ public class MainLobbyVisualsManager implements Listener {
                 .get(MessageKeys.MAIN_LOBBY_SCOREBOARD_TITLE)
                 .toString();
 
-        var lines = LanguageService
+        final var lines = LanguageService
                 .getInstance()
-                .get(MessageKeys.MAIN_LOBBY_SCOREBOARD_LINES)
+                .getTemplate(MessageKeys.MAIN_LOBBY_SCOREBOARD_LINES)
                 .toStringList();
 
+        final var lineKeys = ScoreboardLinePreparer.collectKeys(lines);
         final var scoreboard = Scoreboard.builder()
                 .animate(false)
                 .player(player)
                 .title(title)
                 .displayObjective(MAIN_LOBBY_OBJECTIVE)
                 .updateInterval(20L)
-                .lines(lines)
-                .placeholderHook(hook -> {
-                    final var bar = playerData.getCompletedBoxes();
-                    final var progress = playerData.getProgress();
-                    final var playerStatistic  = Main
-                            .getPlayerStatisticsManager()
-                            .getStatistic(player);
-
-                    return hook
-                            .getLine()
-                            .replace("%sba_version%", SBA.getInstance().getVersion())
-                            .replace("%kills%", String.valueOf(playerStatistic.getKills()))
-                            .replace("%beddestroys%", String.valueOf(playerStatistic.getDestroyedBeds()))
-                            .replace("%deaths%", String.valueOf(playerStatistic.getDeaths()))
-                            .replace("%level%", "§7" + playerData.getLevel() + "✫")
-                            .replace("%progress%", progress)
-                            .replace("%bar%", bar)
-                            .replace("%wins%", String.valueOf(playerStatistic.getWins()))
-                            .replace("%kdr%", String.valueOf(playerStatistic.getKD()));
+                .lines(render(lines, createPlaceholders(player, playerData, lineKeys)))
+                .updateCallback(board -> {
+                    // snapshot the values once per update, the lines are formatted off the main thread
+                    final var values = createPlaceholders(player, playerData, lineKeys);
+                    ScoreboardLinePreparer.getInstance().prepare(board, () -> board.prepareLines(render(lines, values)));
+                    return true;
                 }).build();
 
         scoreboardMap.put(player, scoreboard);
     }
 
+    private static List<String> render(List<String> lines, Placeholders values) {
+        final var rendered = new ArrayList<String>(lines.size());
+        lines.forEach(line -> rendered.add(Placeholders.apply(line, values)));
+        return rendered;
+    }
+
+    /**
+     * Snapshots the values of the main lobby lines, including their PlaceholderAPI values, must be called on the
+     * main thread. The statistic values are shown as a dash until the statistic of the player has been loaded.
+     */
+    private Placeholders createPlaceholders(Player player, SBAPlayerWrapper playerData, Set<String> lineKeys) {
+        final var values = Placeholders.create()
+                .put("sba_version", SBA.getInstance().getVersion())
+                .put("level", "§7" + playerData.getLevel() + "✫")
+                .put("progress", playerData.getProgress())
+                .put("bar", playerData.getCompletedBoxes());
+        final var playerStatistic = StatisticsPreloadService
+                .getInstance()
+                .get(player.getUniqueId())
+                .orElse(null);
+        if (playerStatistic == null) {
+            values
+                    .put("kills", "-")
+                    .put("beddestroys", "-")
+                    .put("deaths", "-")
+                    .put("wins", "-")
+                    .put("kdr", "-");
+        } else {
+            values
+                    .put("kills", playerStatistic.getKills())
+                    .put("beddestroys", playerStatistic.getDestroyedBeds())
+                    .put("deaths", playerStatistic.getDeaths())
+                    .put("wins", playerStatistic.getWins())
+                    .put("kdr", String.valueOf(playerStatistic.getKD()));
+        }
+        ScoreboardLinePreparer.resolveExternal(player, lineKeys, values, values);
+        return values;
+    }
+
     public void remove(Player player) {
         if (player == null) return;
         final var scoreboard = scoreboardMap.get(player);
@@ -0,0 +1,159 @@
+package io.github.pronze.sba.visuals;
+
+import io.github.pronze.lib.pronzelib.scoreboards.Scoreboard;
+import io.github.pronze.sba.config.SBAConfig;
+import io.github.pronze.sba.lang.PlaceholderResolver;
+import io.github.pronze.sba.lang.Placeholders;
+import io.github.pronze.sba.utils.Logger;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.screamingsandals.lib.plugin.ServiceManager;
+import org.screamingsandals.lib.tasker.Tasker;
+import org.screamingsandals.lib.tasker.TaskerTime;
+import org.screamingsandals.lib.tasker.task.TaskerTask;
+import org.screamingsandals.lib.utils.annotations.Service;
+import org.screamingsandals.lib.utils.annotations.methods.OnPostEnable;
+import org.screamingsandals.lib.utils.annotations.methods.OnPreDisable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Formats scoreboard lines on a dedicated thread and commits the finished lines on the main thread.
+ * Callers snapshot everything they need on the main thread, including the PlaceholderAPI values of the lines, see
+ * {@link #resolveExternal(Player, Set, PlaceholderResolver, Placeholders)}. The supplier given to
+ * {@link #prepare(Scoreboard, Supplier)} should only format strings.
+ * Finished lines are queued and committed together by a single task on the main thread.
+ * A board never has more than one preparation in flight, updates requested meanwhile are dropped.
+ */
+@Service
+public class ScoreboardLinePreparer {
+
+    public static ScoreboardLinePreparer getInstance() {
+        return ServiceManager.get(ScoreboardLinePreparer.class);
+    }
+
+    private final Set<Scoreboard> pending = ConcurrentHashMap.newKeySet();
+    private final Queue<PreparedLines> finished = new ConcurrentLinkedQueue<>();
+    private ExecutorService executor;
+    private TaskerTask commitTask;
+
+    @OnPostEnable
+    public void onPostEnable() {
+        onPreDisable();
+        if (!SBAConfig.getInstance().node("scoreboard", "async-preparation").getBoolean(true)) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "SBA-Scoreboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        commitTask = Tasker.build(this::commitFinished).repeat(1L, TaskerTime.TICKS).start();
+    }
+
+    @OnPreDisable
+    public void onPreDisable() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if (commitTask != null) {
+            commitTask.cancel();
+            commitTask = null;
+        }
+        finished.clear();
+        pending.clear();
+    }
+
+    /**
+     * @param scoreboard the board to update
+     * @param formatter builds the final lines of the board, may be run off the main thread
+     */
+    public void prepare(@NotNull Scoreboard scoreboard, @NotNull Supplier<List<String>> formatter) {
+        final var executor = this.executor;
+        if (executor == null) {
+            scoreboard.setPreparedLines(formatter.get());
+            return;
+        }
+        if (!pending.add(scoreboard)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    finished.add(new PreparedLines(scoreboard, formatter.get()));
+                } catch (Throwable t) {
+                    pending.remove(scoreboard);
+                    Logger.error("Could not prepare scoreboard lines of player: {}", scoreboard.getHolder().getPlayer().getName());
+                    t.printStackTrace();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.remove(scoreboard);
+        }
+    }
+
+    private void commitFinished() {
+        PreparedLines prepared;
+        while ((prepared = finished.poll()) != null) {
+            pending.remove(prepared.scoreboard);
+            prepared.scoreboard.setPreparedLines(prepared.lines);
+        }
+    }
+
+    /**
+     * @return the keys of the placeholders used by the lines, collected once when the lines are loaded
+     */
+    public static Set<String> collectKeys(@NotNull List<String> lines) {
+        final var keys = new HashSet<String>();
+        lines.forEach(line -> Placeholders.collectKeys(line, keys));
+        return keys;
+    }
+
+    /**
+     * Resolves the keys that are not known to SBA through PlaceholderAPI and puts them into the values,
+     * each key once per snapshot. Must be called on the main thread.
+     *
+     * @param player the player the values are resolved for
+     * @param keys the keys of the lines, see {@link #collectKeys(List)}
+     * @param known the values of SBA, keys resolved by it are skipped
+     * @param values the snapshot the resolved values are put into
+     */
+    public static void resolveExternal(@NotNull Player player, @NotNull Set<String> keys,
+                                       @NotNull PlaceholderResolver known, @NotNull Placeholders values) {
+        if (keys.isEmpty() || !Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
+            return;
+        }
+        for (String key : keys) {
+            if (known.resolve(key) != null) {
+                continue;
+            }
+            final var token = "%" + key + "%";
+            final var value = PlaceholderAPI.setPlaceholders(player, token);
+            if (!token.equals(value)) {
+                values.put(key, value);
+            }
+        }
+    }
+
+    private static class PreparedLines {
+        private final Scoreboard scoreboard;
+        private final List<String> lines;
+
+        private PreparedLines(Scoreboard scoreboard, List<String> lines) {
+            this.scoreboard = scoreboard;
+            this.lines = lines;
+        }
+    }
+}